@@ -5,17 +5,24 @@ CREATE TABLE food_items (
     id SERIAL PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     price DECIMAL(10, 2) NOT NULL CHECK (price > 0),
-    type VARCHAR(50) NOT NULL CHECK (type IN ('Meal', 'Drink'))
+    type VARCHAR(50) NOT NULL CHECK (type IN ('Meal', 'Drink')),
+    -- Bumped by every UPDATE; conditional writes compare it instead of re-reading the row.
+    version INT NOT NULL DEFAULT 0
 );
 
+-- Serves ORDER BY lower(name), id and the name-ordered keyset pages.
+CREATE INDEX idx_food_items_lower_name ON food_items (lower(name), id);
+
 CREATE TABLE offers (
     id SERIAL PRIMARY KEY,
+    food_item_id INT NOT NULL,
     discount_percentage DECIMAL(5, 2) NOT NULL CHECK (discount_percentage > 0 AND discount_percentage <= 100),
     description VARCHAR(500),
     start_date DATE NOT NULL,
     end_date DATE NOT NULL,
     is_active BOOLEAN DEFAULT TRUE,
-    CONSTRAINT fk_offers_food_item FOREIGN KEY (id) REFERENCES food_items(id) ON DELETE CASCADE,
+    version INT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_offers_food_item FOREIGN KEY (food_item_id) REFERENCES food_items(id) ON DELETE CASCADE,
     CONSTRAINT chk_offer_dates CHECK (end_date >= start_date)
 );
 
@@ -35,14 +42,14 @@ INSERT INTO food_items (name, price, type) VALUES
     ('Smoothie', 4.90, 'Drink'),
     ('Iced Coffee', 3.30, 'Drink');
 
-INSERT INTO offers (discount_percentage, description, start_date, end_date, is_active) VALUES
-    (12.00, 'Healthy salad promotion', '2025-02-01', '2025-04-30', TRUE),
-    (8.00, 'Fresh juice discount', '2025-03-01', '2025-05-31', TRUE),
-    (10.00, 'Morning coffee deal', '2025-01-01', '2025-12-31', TRUE),
-    (14.00, 'Wrap Wednesday', '2025-02-10', '2025-08-10', TRUE),
-    (20.00, 'Steak lovers promo', '2025-03-01', '2025-03-31', FALSE),
-    (11.00, 'Italian pasta week', '2025-04-01', '2025-04-14', TRUE),
-    (9.00, 'Fish Friday discount', '2025-01-01', '2025-12-31', TRUE),
-    (13.50, 'Protein meal deal', '2025-05-01', '2025-07-31', TRUE),
-    (10.00, 'Vegetarian special', '2025-02-01', '2025-06-01', TRUE),
-    (7.00, 'Taco Tuesday', '2025-01-01', '2025-12-31', TRUE);
+INSERT INTO offers (food_item_id, discount_percentage, description, start_date, end_date, is_active) VALUES
+    (6, 12.00, 'Healthy salad promotion', '2025-02-01', '2025-04-30', TRUE),
+    (13, 8.00, 'Fresh juice discount', '2025-03-01', '2025-05-31', TRUE),
+    (11, 10.00, 'Morning coffee deal', '2025-01-01', '2025-12-31', TRUE),
+    (1, 14.00, 'Wrap Wednesday', '2025-02-10', '2025-08-10', TRUE),
+    (2, 20.00, 'Steak lovers promo', '2025-03-01', '2025-03-31', FALSE),
+    (3, 11.00, 'Italian pasta week', '2025-04-01', '2025-04-14', TRUE),
+    (4, 9.00, 'Fish Friday discount', '2025-01-01', '2025-12-31', TRUE),
+    (5, 13.50, 'Protein meal deal', '2025-05-01', '2025-07-31', TRUE),
+    (6, 10.00, 'Vegetarian special', '2025-02-01', '2025-06-01', TRUE),
+    (7, 7.00, 'Taco Tuesday', '2025-01-01', '2025-12-31', TRUE);
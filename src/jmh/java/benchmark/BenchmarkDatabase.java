@@ -0,0 +1,99 @@
+package benchmark;
+
+import utils.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * In-process H2 database in PostgreSQL mode, seeded with a synthetic catalog.
+ *
+ * The db.* system properties are set before DatabaseConfigManager is first
+ * touched, so the production repositories run unchanged against it.
+ */
+public final class BenchmarkDatabase {
+
+    private static final String URL = "jdbc:h2:mem:food_delivery;MODE=PostgreSQL;"
+            + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE";
+
+    /** Same in-memory database, reached through the R2DBC H2 driver. */
+    private static final String R2DBC_URL = "r2dbc:h2:mem:///food_delivery?options=MODE=PostgreSQL;"
+            + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    static {
+        System.setProperty("db.url", URL);
+        System.setProperty("db.r2dbc.url", R2DBC_URL);
+        System.setProperty("db.username", "sa");
+        System.setProperty("db.password", "sa");
+        System.setProperty("db.pool.min-idle", "4");
+        System.setProperty("db.pool.leak-detection-threshold-ms", "0");
+    }
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Recreates the schema and inserts {@code catalogSize} food items and about
+     * {@code catalogSize / 2} offers, a third of them active today.
+     */
+    public static void seed(int catalogSize) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE IF EXISTS offers");
+                stmt.execute("DROP TABLE IF EXISTS food_items");
+                stmt.execute("CREATE TABLE food_items ("
+                        + "id SERIAL PRIMARY KEY, "
+                        + "name VARCHAR(255) NOT NULL, "
+                        + "price DECIMAL(10, 2) NOT NULL, "
+                        + "type VARCHAR(50) NOT NULL, "
+                        + "version INT NOT NULL DEFAULT 0)");
+                stmt.execute("CREATE TABLE offers ("
+                        + "id SERIAL PRIMARY KEY, "
+                        + "food_item_id INT NOT NULL REFERENCES food_items(id) ON DELETE CASCADE, "
+                        + "discount_percentage DECIMAL(5, 2) NOT NULL, "
+                        + "description VARCHAR(500), "
+                        + "start_date DATE NOT NULL, "
+                        + "end_date DATE NOT NULL, "
+                        + "is_active BOOLEAN DEFAULT TRUE, "
+                        + "version INT NOT NULL DEFAULT 0)");
+            }
+
+            Random random = new Random(42);
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO food_items (name, price, type) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= catalogSize; i++) {
+                    ps.setString(1, "Item " + i);
+                    ps.setDouble(2, 1 + random.nextInt(2000) / 100.0);
+                    ps.setString(3, i % 3 == 0 ? "Drink" : "Meal");
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            LocalDate today = LocalDate.now();
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO offers (food_item_id, discount_percentage, description, start_date, end_date, is_active) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= catalogSize / 2; i++) {
+                    int shift = (i % 3 - 1) * 30;
+                    ps.setInt(1, 1 + random.nextInt(catalogSize));
+                    ps.setDouble(2, 5 + random.nextInt(30));
+                    ps.setString(3, "Offer " + i);
+                    ps.setDate(4, Date.valueOf(today.plusDays(shift - 10)));
+                    ps.setDate(5, Date.valueOf(today.plusDays(shift + 10)));
+                    ps.setBoolean(6, i % 10 != 0);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import config.R2dbcConfig;
+import io.r2dbc.pool.ConnectionPool;
+import model.FoodItem;
+import model.Offer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.r2dbc.core.DatabaseClient;
+import repository.ReactiveFoodItemRepositoryImpl;
+import repository.ReactiveOfferRepositoryImpl;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link RepositoryBenchmark} read paths through the R2DBC repositories,
+ * against the same seeded database. Each call blocks on the result so the two
+ * classes measure the same unit of work.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReactiveRepositoryBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    private ConnectionPool pool;
+    private ReactiveFoodItemRepositoryImpl foodItemRepository;
+    private ReactiveOfferRepositoryImpl offerRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.seed(catalogSize);
+        pool = new R2dbcConfig().connectionFactory();
+        DatabaseClient client = DatabaseClient.create(pool);
+        foodItemRepository = new ReactiveFoodItemRepositoryImpl(client);
+        offerRepository = new ReactiveOfferRepositoryImpl(client);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.dispose();
+    }
+
+    @Benchmark
+    public List<FoodItem> foodItemsFindAll() {
+        return foodItemRepository.findAll().collectList().block();
+    }
+
+    @Benchmark
+    public FoodItem foodItemsFindById() {
+        return foodItemRepository.findById(1 + ThreadLocalRandom.current().nextInt(catalogSize)).block();
+    }
+
+    @Benchmark
+    public List<Offer> offersFindActive() {
+        return offerRepository.findActiveOffers(LocalDate.now()).collectList().block();
+    }
+}
@@ -0,0 +1,53 @@
+package benchmark;
+
+import model.FoodItem;
+import model.Offer;
+import org.openjdk.jmh.annotations.*;
+import repository.FoodItemRepositoryImpl;
+import repository.OfferRepositoryImpl;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC read paths: full-table scan plus row mapping, point lookup and the
+ * active-offer query.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    private FoodItemRepositoryImpl foodItemRepository;
+    private OfferRepositoryImpl offerRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.seed(catalogSize);
+        foodItemRepository = new FoodItemRepositoryImpl();
+        offerRepository = new OfferRepositoryImpl();
+    }
+
+    @Benchmark
+    public List<FoodItem> foodItemsFindAll() {
+        return foodItemRepository.findAll();
+    }
+
+    @Benchmark
+    public FoodItem foodItemsFindById() {
+        return foodItemRepository.findById(1 + ThreadLocalRandom.current().nextInt(catalogSize));
+    }
+
+    @Benchmark
+    public List<Offer> offersFindActive() {
+        return offerRepository.findActiveOffers();
+    }
+}
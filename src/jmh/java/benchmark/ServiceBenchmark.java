@@ -0,0 +1,109 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import controller.FoodItemRestController;
+import controller.OfferRestController;
+import dto.OfferResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import repository.FoodItemRepositoryImpl;
+import repository.OfferRepositoryImpl;
+import service.ActiveOfferIndex;
+import service.FoodItemServiceImpl;
+import service.OfferServiceImpl;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service pricing and controller-level DTO mapping, wired by hand the same
+ * way Spring wires them.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    private OfferServiceImpl offerService;
+    private FoodItemRestController foodItemController;
+    private OfferRestController offerController;
+    private String foodItemsETag;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // Request logging would otherwise dominate the measured time and flood the JMH console.
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        BenchmarkDatabase.seed(catalogSize);
+        FoodItemRepositoryImpl foodItemRepository = new FoodItemRepositoryImpl();
+        OfferRepositoryImpl offerRepository = new OfferRepositoryImpl();
+
+        offerService = new OfferServiceImpl(offerRepository, foodItemRepository,
+                new ActiveOfferIndex(offerRepository));
+        ObjectMapper objectMapper = new ObjectMapper();
+        foodItemController = new FoodItemRestController(
+                new FoodItemServiceImpl(foodItemRepository, offerService, objectMapper), objectMapper);
+        offerController = new OfferRestController(offerService);
+
+        ServletWebRequest first = request(null);
+        foodItemController.getAll(null, first, first.getResponse());
+        foodItemsETag = first.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Benchmark
+    public double offerServiceGetDiscountedPrice() {
+        return offerService.getDiscountedPrice(1 + ThreadLocalRandom.current().nextInt(catalogSize), 10.0);
+    }
+
+    /**
+     * The catalog is pre-serialized after the first call, so this measures
+     * handing out the cached bytes.
+     */
+    @Benchmark
+    public ResponseEntity<byte[]> foodItemControllerGetAll() {
+        ServletWebRequest request = request(null);
+        return foodItemController.getAll(null, request, request.getResponse());
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> foodItemControllerGetAllGzip() {
+        ServletWebRequest request = request(null);
+        return foodItemController.getAll("gzip, deflate, br", request, request.getResponse());
+    }
+
+    /**
+     * A polling client whose copy is current: answered from the version counter alone.
+     */
+    @Benchmark
+    public ResponseEntity<byte[]> foodItemControllerGetAllNotModified() {
+        ServletWebRequest request = request(foodItemsETag);
+        return foodItemController.getAll(null, request, request.getResponse());
+    }
+
+    @Benchmark
+    public ResponseEntity<List<OfferResponse>> offerControllerGetActive() {
+        return offerController.getActive(request(null));
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
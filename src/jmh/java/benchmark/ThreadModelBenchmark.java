@@ -0,0 +1,144 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import controller.FoodItemRestController;
+import dto.FoodItemResponse;
+import dto.PageResponse;
+import org.openjdk.jmh.annotations.*;
+import repository.FoodItemRepositoryImpl;
+import repository.OfferRepositoryImpl;
+import service.ActiveOfferIndex;
+import service.FoodItemServiceImpl;
+import service.OfferServiceImpl;
+import utils.DatabaseConnection;
+import utils.ThreadFactories;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform vs virtual threads serving waves of concurrent requests against
+ * the keyset-paginated endpoints, which query the database on every call.
+ *
+ * The platform executor has 200 threads, Tomcat's default maximum; the
+ * virtual one starts a thread per request. The connection pool keeps its own
+ * size (db.pool.max-size) in both cases. H2 answers in microseconds, so
+ * {@code blockingMillis} adds a sleep per request to stand in for the rest
+ * of a real request's blocking I/O (network to PostgreSQL, slow clients).
+ *
+ * The virtual case needs a JDK 21 runtime:
+ * {@code JAVA_HOME=<jdk21> mvn -Pbenchmark compile exec:exec -Djmh.args="ThreadModel"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "2000"})
+    public int concurrency;
+
+    @Param({"0", "5"})
+    public int blockingMillis;
+
+    private Executor executor;
+    private ExecutorService platformPool;
+    private FoodItemRestController controller;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        BenchmarkDatabase.seed(1000);
+        ObjectMapper objectMapper = new ObjectMapper();
+        FoodItemRepositoryImpl foodItemRepository = new FoodItemRepositoryImpl();
+        OfferRepositoryImpl offerRepository = new OfferRepositoryImpl();
+        OfferServiceImpl offerService = new OfferServiceImpl(offerRepository, foodItemRepository,
+                new ActiveOfferIndex(offerRepository));
+        controller = new FoodItemRestController(
+                new FoodItemServiceImpl(foodItemRepository, offerService, objectMapper), objectMapper);
+
+        if ("virtual".equals(threads)) {
+            executor = new ThreadPerTaskExecutor(ThreadFactories.virtual("bench-virtual-"));
+        } else {
+            platformPool = Executors.newFixedThreadPool(PLATFORM_THREADS, ThreadFactories.daemon("bench-platform-"));
+            executor = platformPool;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+        DatabaseConnection.shutdown();
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " requests failed");
+        }
+    }
+
+    /**
+     * Time until every request of one wave has been answered.
+     */
+    @Benchmark
+    public void wave() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            boolean sorted = (i & 1) == 0;
+            executor.execute(() -> {
+                try {
+                    PageResponse<FoodItemResponse> page = sorted
+                            ? controller.getSortedPage(20, null)
+                            : controller.getPage(20, null);
+                    if (page.getItems().isEmpty()) {
+                        failures.incrementAndGet();
+                    }
+                    if (blockingMillis > 0) {
+                        Thread.sleep(blockingMillis);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    /**
+     * One new thread per task, the shape of Executors.newThreadPerTaskExecutor
+     * without needing the Java 21 API at compile time.
+     */
+    private static final class ThreadPerTaskExecutor implements Executor {
+
+        private final ThreadFactory factory;
+
+        ThreadPerTaskExecutor(ThreadFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            factory.newThread(task).start();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 
 /**
@@ -7,8 +8,11 @@ import org.springframework.context.annotation.ComponentScan;
  *
  * This uses simple package names (controller, service, repository, model, etc.)
  * so it integrates smoothly with the existing code from previous assignments.
+ *
+ * R2DBC auto-configuration is excluded because the reactive stack builds its
+ * own pool in {@link config.R2dbcConfig} and only under the "reactive" profile.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @ComponentScan(basePackages = {
         "controller",
         "service",
@@ -20,7 +24,8 @@ import org.springframework.context.annotation.ComponentScan;
         "utils",
         "config",
         "logging",
-        "cache"
+        "cache",
+        "metrics"
 })
 public class Application {
 
@@ -0,0 +1,31 @@
+package cache;
+
+/**
+ * Central place for cache keys, so services never hard-code strings.
+ */
+public final class CacheKeys {
+
+    public static final String FOOD_ITEMS_ALL = "food_items:all";
+
+    /**
+     * Every offer key starts with this, so one offer write can drop them all.
+     */
+    public static final String OFFERS_PREFIX = "offers:";
+
+    public static final String OFFERS_ALL = OFFERS_PREFIX + "all";
+
+    public static final String OFFERS_ACTIVE = OFFERS_PREFIX + "active";
+
+    private static final String FOOD_ITEM_PREFIX = "food_items:id:";
+
+    private CacheKeys() {
+    }
+
+    public static String foodItem(int id) {
+        return FOOD_ITEM_PREFIX + id;
+    }
+
+    public static String offersByFoodItem(int foodItemId) {
+        return OFFERS_PREFIX + "food_item:" + foodItemId;
+    }
+}
@@ -0,0 +1,132 @@
+package cache;
+
+/**
+ * Immutable snapshot of cache counters since startup (or the last clear for size/weight).
+ */
+public class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long loads;
+    private final long loadFailures;
+    private final long totalLoadTimeNanos;
+    private final long coalescedLoads;
+    private final long discardedStaleLoads;
+    private final int loadsInFlight;
+    private final long refreshes;
+    private final long refreshFailures;
+    private final long staleServedOnError;
+    private final int size;
+    private final long weight;
+    private final long maxWeight;
+
+    public CacheStats(long hits, long misses, long evictions, long expirations, long loads, long loadFailures,
+                      long totalLoadTimeNanos, long coalescedLoads, long discardedStaleLoads,
+                      int loadsInFlight, long refreshes, long refreshFailures, long staleServedOnError,
+                      int size, long weight, long maxWeight) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.loads = loads;
+        this.loadFailures = loadFailures;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.coalescedLoads = coalescedLoads;
+        this.discardedStaleLoads = discardedStaleLoads;
+        this.loadsInFlight = loadsInFlight;
+        this.refreshes = refreshes;
+        this.refreshFailures = refreshFailures;
+        this.staleServedOnError = staleServedOnError;
+        this.size = size;
+        this.weight = weight;
+        this.maxWeight = maxWeight;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public long getLoads() {
+        return loads;
+    }
+
+    public long getLoadFailures() {
+        return loadFailures;
+    }
+
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    public double getAverageLoadTimeMillis() {
+        long attempts = loads + loadFailures;
+        return attempts == 0 ? 0.0 : totalLoadTimeNanos / 1_000_000.0 / attempts;
+    }
+
+    /**
+     * Misses that waited on another caller's load instead of running the loader themselves.
+     */
+    public long getCoalescedLoads() {
+        return coalescedLoads;
+    }
+
+    /**
+     * Loads whose result was not cached because the key was written while they ran.
+     */
+    public long getDiscardedStaleLoads() {
+        return discardedStaleLoads;
+    }
+
+    public int getLoadsInFlight() {
+        return loadsInFlight;
+    }
+
+    /**
+     * Background reloads started by refresh-ahead or stale-while-revalidate.
+     */
+    public long getRefreshes() {
+        return refreshes;
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures;
+    }
+
+    /**
+     * Reads answered with a stale value because the synchronous reload failed.
+     */
+    public long getStaleServedOnError() {
+        return staleServedOnError;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+}
@@ -0,0 +1,737 @@
+package cache;
+
+import config.AppConfigManager;
+import utils.ThreadFactories;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Singleton in-memory cache bounded by total weight, with per-entry TTL and
+ * W-TinyLFU eviction.
+ *
+ * New entries go into a small LRU window (1% of the weight). Entries pushed
+ * out of the window must beat the main region's least recently used entry
+ * on estimated access frequency to be admitted; the main region is a
+ * segmented LRU (probation + 80% protected). This keeps one-off keys from
+ * flushing out frequently used ones. A collection weighs its size, anything
+ * else weighs 1.
+ *
+ * {@code getOrLoad} is single-flight: concurrent misses on one key share a
+ * single loader call. Every put or remove bumps a generation counter for the
+ * key's stripe, and a load only fills the cache if the generation it saw
+ * before calling the loader is unchanged, so a slow load that overlapped a
+ * write cannot put stale data back. Those writes also detach the key's
+ * in-flight load, so later readers start a fresh one instead of waiting on
+ * the stale one. A {@code computeIfPresent} patch instead rides along with
+ * the in-flight load and is applied to its value before the fill, so steady
+ * patching of a hot key never throws its load away.
+ *
+ * Keys with a {@link RefreshPolicy} can be reloaded ahead of expiry and served
+ * stale while a background reload runs, or while the loader is failing.
+ * Invalidated keys are never served stale: a write means the old value is wrong.
+ */
+public final class InMemoryCacheManager implements SimpleCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private static volatile InMemoryCacheManager instance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Node> data = new HashMap<>();
+    private final AccessQueue window = new AccessQueue();
+    private final AccessQueue probation = new AccessQueue();
+    private final AccessQueue protectedQueue = new AccessQueue();
+    private final FrequencySketch sketch;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, RefreshPolicy> policies = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final long maxWeight;
+    private final long windowMaxWeight;
+    private final long protectedMaxWeight;
+    private final long defaultTtlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadTimeNanos = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder discardedStaleLoads = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder staleServedOnError = new LongAdder();
+
+    private InMemoryCacheManager() {
+        this(AppConfigManager.getInstance().getCacheMaxWeight(),
+                Duration.ofSeconds(AppConfigManager.getInstance().getCacheDefaultTtlSeconds()),
+                AppConfigManager.getInstance().getCacheRefreshThreads());
+    }
+
+    /**
+     * For tests, which need a small, private cache rather than the shared instance.
+     */
+    InMemoryCacheManager(long maxWeight, Duration defaultTtl, int refreshThreads) {
+        this.maxWeight = Math.max(1, maxWeight);
+        this.windowMaxWeight = Math.max(1, this.maxWeight / 100);
+        this.protectedMaxWeight = (long) ((this.maxWeight - windowMaxWeight) * 0.8);
+        this.defaultTtlNanos = defaultTtl.toNanos();
+        this.sketch = new FrequencySketch(this.maxWeight);
+
+        int threads = Math.max(1, refreshThreads);
+        // Unbounded queue is fine: a key has at most one reload in flight. The pool
+        // size still caps concurrent reloads when the workers are virtual threads.
+        this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), ThreadFactories.background("cache-refresh-"));
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public static InMemoryCacheManager getInstance() {
+        if (instance == null) {
+            synchronized (InMemoryCacheManager.class) {
+                if (instance == null) {
+                    instance = new InMemoryCacheManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public Object get(String key) {
+        Hit hit = lookup(key, false);
+        return hit == null ? null : hit.value();
+    }
+
+    /**
+     * Finds a live entry and classifies it against its policy. Entries past their
+     * TTL count as misses, and are only returned at all when {@code servesStale}.
+     */
+    private Hit lookup(String key, boolean servesStale) {
+        lock.lock();
+        try {
+            sketch.increment(key);
+            Node node = data.get(key);
+            long now = System.nanoTime();
+            if (node != null && node.isExpired(now)) {
+                unlink(node);
+                data.remove(key);
+                expirations.increment();
+                node = null;
+            }
+            if (node == null) {
+                misses.increment();
+                return null;
+            }
+            Freshness freshness = node.freshness(now);
+            if (freshness == Freshness.STALE_IF_ERROR || (freshness == Freshness.STALE && !servesStale)) {
+                misses.increment();
+                return servesStale ? new Hit(node.value, freshness) : null;
+            }
+            hits.increment();
+            onAccess(node);
+            return new Hit(node.value, freshness);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(String key, Object value) {
+        putNode(key, value, defaultTtlNanos);
+    }
+
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        putNode(key, value, ttlNanos(ttl));
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, Supplier<T> loader) {
+        return load(key, loader, value -> defaultTtlNanos);
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, Supplier<T> loader, Function<? super T, Duration> ttl) {
+        return load(key, loader, value -> ttlNanos(ttl.apply(value)));
+    }
+
+    @Override
+    public void setRefreshPolicy(String key, RefreshPolicy policy) {
+        if (policy == null || !policy.isEnabled()) {
+            policies.remove(key);
+        } else {
+            policies.put(key, policy);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(String key, Supplier<T> loader, ToLongFunction<? super T> ttlNanos) {
+        Hit hit = lookup(key, true);
+        if (hit == null) {
+            return loadNow(key, loader, ttlNanos);
+        }
+        switch (hit.freshness()) {
+            case REFRESH_DUE, STALE -> refreshAsync(key, loader, ttlNanos);
+            case STALE_IF_ERROR -> {
+                try {
+                    return loadNow(key, loader, ttlNanos);
+                } catch (RuntimeException e) {
+                    staleServedOnError.increment();
+                }
+            }
+            default -> {
+            }
+        }
+        return (T) hit.value();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T loadNow(String key, Supplier<T> loader, ToLongFunction<? super T> ttlNanos) {
+        Flight flight = new Flight();
+        Flight leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalescedLoads.increment();
+            return (T) await(leader.result);
+        }
+        // Read before the re-check and the loader call: any write after this point fences the fill.
+        long generation = generations.get(stripe(key));
+        Object filled = peek(key);
+        if (filled != null) {
+            inFlight.remove(key, flight);
+            flight.result.complete(filled);
+            return (T) filled;
+        }
+        return runLoad(key, loader, ttlNanos, flight, generation);
+    }
+
+    /**
+     * Reloads in the background unless a load for the key is already running.
+     * Readers keep getting the current value meanwhile.
+     */
+    private <T> void refreshAsync(String key, Supplier<T> loader, ToLongFunction<? super T> ttlNanos) {
+        Flight flight = new Flight();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return;
+        }
+        long generation = generations.get(stripe(key));
+        refreshes.increment();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    runLoad(key, loader, ttlNanos, flight, generation);
+                } catch (RuntimeException e) {
+                    // The entry keeps its old value; the next read past the TTL tries again.
+                    refreshFailures.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T runLoad(String key, Supplier<T> loader, ToLongFunction<? super T> ttlNanos,
+                          Flight flight, long generation) {
+        try {
+            long start = System.nanoTime();
+            T value;
+            try {
+                value = loader.get();
+            } catch (RuntimeException | Error e) {
+                loadFailures.increment();
+                loadTimeNanos.add(System.nanoTime() - start);
+                flight.result.completeExceptionally(e);
+                throw e;
+            }
+            loads.increment();
+            loadTimeNanos.add(System.nanoTime() - start);
+            if (value != null) {
+                value = (T) fill(key, value, ttlNanos.applyAsLong(value), generation, flight);
+            }
+            flight.result.complete(value);
+            return value;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            // Waiters see the loader's own exception, exactly as the leader does.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lookup without touching statistics, frequency or recency.
+     */
+    private Object peek(String key) {
+        lock.lock();
+        try {
+            Node node = data.get(key);
+            return node == null || node.isStale(System.nanoTime()) ? null : node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the value as patched by writes that raced with the load.
+     */
+    private Object fill(String key, Object value, long ttlNanos, long generation, Flight flight) {
+        lock.lock();
+        try {
+            if (generations.get(stripe(key)) != generation) {
+                discardedStaleLoads.increment();
+                return value;
+            }
+            Object patched = flight.applyPatches(value);
+            if (patched != null) {
+                long weight = weigh(patched);
+                if (weight <= maxWeight) {
+                    store(key, patched, weight, ttlNanos);
+                }
+            }
+            return patched;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A patch is not a read: it leaves hit counts, frequency and recency as they were.
+     *
+     * A load in flight for the key may have read the rows before or after this
+     * write, so the patch is also queued on it and applied to the loaded value
+     * before it is stored. {@code remapping} must therefore be idempotent
+     * (replace by id, not blindly append).
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void computeIfPresent(String key, UnaryOperator<T> remapping) {
+        lock.lock();
+        try {
+            Flight flight = inFlight.get(key);
+            if (flight != null) {
+                flight.addPatch((UnaryOperator<Object>) remapping);
+            }
+            Node node = data.get(key);
+            if (node == null) {
+                return;
+            }
+            if (node.isExpired(System.nanoTime())) {
+                unlink(node);
+                data.remove(key);
+                expirations.increment();
+                return;
+            }
+            T value = remapping.apply((T) node.value);
+            long weight = value == null ? 0 : weigh(value);
+            if (value == null || weight > maxWeight) {
+                unlink(node);
+                data.remove(key);
+                return;
+            }
+            node.queue.weight += weight - node.weight;
+            node.value = value;
+            node.weight = weight;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        lock.lock();
+        try {
+            fence(key);
+            Node node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeByPrefix(String prefix) {
+        lock.lock();
+        try {
+            Iterator<Node> nodes = data.values().iterator();
+            while (nodes.hasNext()) {
+                Node node = nodes.next();
+                if (node.key.startsWith(prefix)) {
+                    fence(node.key);
+                    nodes.remove();
+                    unlink(node);
+                }
+            }
+            for (String key : List.copyOf(inFlight.keySet())) {
+                if (key.startsWith(prefix)) {
+                    fence(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+            inFlight.clear();
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(),
+                    loads.sum(), loadFailures.sum(), loadTimeNanos.sum(), coalescedLoads.sum(),
+                    discardedStaleLoads.sum(), inFlight.size(), refreshes.sum(), refreshFailures.sum(),
+                    staleServedOnError.sum(), data.size(),
+                    window.weight + probation.weight + protectedQueue.weight, maxWeight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putNode(String key, Object value, long ttlNanos) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        long weight = weigh(value);
+        if (weight > maxWeight) {
+            // Could never fit; storing it would only flush everything else first.
+            remove(key);
+            return;
+        }
+        lock.lock();
+        try {
+            fence(key);
+            store(key, value, weight, ttlNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called with the lock held.
+     */
+    private void store(String key, Object value, long weight, long ttlNanos) {
+        sketch.increment(key);
+        Node node = data.get(key);
+        if (node != null) {
+            node.queue.weight += weight - node.weight;
+            node.value = value;
+            node.weight = weight;
+            onAccess(node);
+        } else {
+            node = new Node(key, value, weight);
+            data.put(key, node);
+            window.addLast(node);
+        }
+        schedule(node, ttlNanos, policies.get(key));
+        evict();
+    }
+
+    private static void schedule(Node node, long ttlNanos, RefreshPolicy policy) {
+        long now = System.nanoTime();
+        long freshUntil = ttlNanos > 0 ? now + ttlNanos : 0;
+        node.freshUntil = freshUntil;
+        node.revalidateUntil = freshUntil;
+        node.expiresAt = freshUntil;
+        node.refreshAt = 0;
+        if (policy == null) {
+            return;
+        }
+        if (policy.getRefreshAfterNanos() > 0) {
+            node.refreshAt = now + policy.getRefreshAfterNanos();
+        }
+        if (freshUntil != 0) {
+            node.revalidateUntil = freshUntil + policy.getStaleWhileRevalidateNanos();
+            node.expiresAt = freshUntil + Math.max(policy.getStaleWhileRevalidateNanos(),
+                    policy.getStaleIfErrorNanos());
+        }
+    }
+
+    /**
+     * Called with the lock held by every put or remove of {@code key}.
+     */
+    private void fence(String key) {
+        generations.incrementAndGet(stripe(key));
+        inFlight.remove(key);
+    }
+
+    private static int stripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private void onAccess(Node node) {
+        if (node.queue == window || node.queue == protectedQueue) {
+            node.queue.moveToEnd(node);
+            return;
+        }
+        // A second hit while on probation earns a place in the protected segment.
+        probation.remove(node);
+        protectedQueue.addLast(node);
+        while (protectedQueue.weight > protectedMaxWeight && protectedQueue.head != protectedQueue.tail) {
+            Node demoted = protectedQueue.head;
+            protectedQueue.remove(demoted);
+            probation.addLast(demoted);
+        }
+    }
+
+    private void evict() {
+        Deque<Node> candidates = new ArrayDeque<>();
+        while (window.weight > windowMaxWeight && window.head != null) {
+            Node node = window.head;
+            window.remove(node);
+            probation.addLast(node);
+            candidates.addLast(node);
+        }
+
+        long now = System.nanoTime();
+        while (weight() > maxWeight) {
+            Node victim = probation.head != null ? probation.head
+                    : protectedQueue.head != null ? protectedQueue.head
+                    : window.head;
+            Node candidate = candidates.peekFirst();
+
+            if (victim.isExpired(now)) {
+                expire(victim, candidates);
+            } else if (candidate == null || candidate == victim) {
+                evictNode(victim, candidates);
+            } else if (candidate.isExpired(now)) {
+                expire(candidate, candidates);
+            } else if (candidate.weight > maxWeight
+                    || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                evictNode(candidate, candidates);
+            } else {
+                evictNode(victim, candidates);
+            }
+        }
+    }
+
+    private void evictNode(Node node, Deque<Node> candidates) {
+        unlink(node);
+        data.remove(node.key);
+        candidates.remove(node);
+        evictions.increment();
+    }
+
+    private void expire(Node node, Deque<Node> candidates) {
+        unlink(node);
+        data.remove(node.key);
+        candidates.remove(node);
+        expirations.increment();
+    }
+
+    private void unlink(Node node) {
+        if (node.queue != null) {
+            node.queue.remove(node);
+        }
+    }
+
+    private long weight() {
+        return window.weight + probation.weight + protectedQueue.weight;
+    }
+
+    private static long ttlNanos(Duration ttl) {
+        return ttl == null ? 0 : Math.max(1, ttl.toNanos());
+    }
+
+    private static long weigh(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        return 1;
+    }
+
+    private enum Freshness {
+        FRESH,
+        /** Within the TTL but old enough for a background reload. */
+        REFRESH_DUE,
+        /** Past the TTL; served while a background reload runs. */
+        STALE,
+        /** Past the TTL; served only if a synchronous reload fails. */
+        STALE_IF_ERROR
+    }
+
+    private record Hit(Object value, Freshness freshness) {
+    }
+
+    /**
+     * One load in progress, shared by every reader that missed meanwhile.
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        /** Patches from writes that raced with the load; guarded by the cache lock. */
+        private List<UnaryOperator<Object>> patches;
+
+        void addPatch(UnaryOperator<Object> patch) {
+            if (patches == null) {
+                patches = new ArrayList<>(2);
+            }
+            patches.add(patch);
+        }
+
+        Object applyPatches(Object value) {
+            if (patches != null) {
+                for (UnaryOperator<Object> patch : patches) {
+                    if (value == null) {
+                        break;
+                    }
+                    value = patch.apply(value);
+                }
+            }
+            return value;
+        }
+    }
+
+    private static final class Node {
+
+        private final String key;
+        private Object value;
+        private long weight;
+        private long freshUntil;
+        private long refreshAt;
+        private long revalidateUntil;
+        /** When the entry is dropped; later than freshUntil only under a refresh policy. */
+        private long expiresAt;
+        private AccessQueue queue;
+        private Node prev;
+        private Node next;
+
+        Node(String key, Object value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != 0 && now - expiresAt >= 0;
+        }
+
+        boolean isStale(long now) {
+            return freshUntil != 0 && now - freshUntil >= 0;
+        }
+
+        Freshness freshness(long now) {
+            if (isStale(now)) {
+                return now - revalidateUntil < 0 ? Freshness.STALE : Freshness.STALE_IF_ERROR;
+            }
+            if (refreshAt != 0 && now - refreshAt >= 0) {
+                return Freshness.REFRESH_DUE;
+            }
+            return Freshness.FRESH;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked LRU list that tracks its own total weight.
+     */
+    private static final class AccessQueue {
+
+        private Node head;
+        private Node tail;
+        private long weight;
+
+        void addLast(Node node) {
+            node.queue = this;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        void remove(Node node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.queue = null;
+            weight -= node.weight;
+        }
+
+        void moveToEnd(Node node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package cache;
+
+import java.time.Duration;
+
+/**
+ * Per-key reload behaviour, on top of the entry's time-to-live.
+ *
+ * <ul>
+ *   <li>{@code refreshAfter}: once an entry is this old, a read returns it and
+ *   reloads it in the background.</li>
+ *   <li>{@code staleWhileRevalidate}: for this long after the TTL runs out, a
+ *   read still returns the old value and reloads it in the background.</li>
+ *   <li>{@code staleIfError}: for this long after the TTL runs out, a read
+ *   reloads synchronously, but falls back to the old value if the loader fails.</li>
+ * </ul>
+ * A zero duration turns the corresponding behaviour off.
+ */
+public final class RefreshPolicy {
+
+    private final long refreshAfterNanos;
+    private final long staleWhileRevalidateNanos;
+    private final long staleIfErrorNanos;
+
+    public RefreshPolicy(Duration refreshAfter, Duration staleWhileRevalidate, Duration staleIfError) {
+        this.refreshAfterNanos = toNanos(refreshAfter);
+        this.staleWhileRevalidateNanos = toNanos(staleWhileRevalidate);
+        this.staleIfErrorNanos = toNanos(staleIfError);
+    }
+
+    public static RefreshPolicy ofSeconds(long refreshAfter, long staleWhileRevalidate, long staleIfError) {
+        return new RefreshPolicy(Duration.ofSeconds(refreshAfter), Duration.ofSeconds(staleWhileRevalidate),
+                Duration.ofSeconds(staleIfError));
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration == null || duration.isNegative() ? 0 : duration.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return refreshAfterNanos > 0 || staleWhileRevalidateNanos > 0 || staleIfErrorNanos > 0;
+    }
+
+    long getRefreshAfterNanos() {
+        return refreshAfterNanos;
+    }
+
+    long getStaleWhileRevalidateNanos() {
+        return staleWhileRevalidateNanos;
+    }
+
+    long getStaleIfErrorNanos() {
+        return staleIfErrorNanos;
+    }
+}
@@ -0,0 +1,58 @@
+package cache;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Minimal cache abstraction the service layer depends on.
+ */
+public interface SimpleCache {
+
+    Object get(String key);
+
+    /**
+     * Stores a value with the cache's default time-to-live.
+     */
+    void put(String key, Object value);
+
+    /**
+     * Stores a value that expires after {@code ttl}; {@code null} means never.
+     */
+    void put(String key, Object value, Duration ttl);
+
+    /**
+     * Returns the cached value or computes, stores and returns it on a miss.
+     */
+    <T> T getOrLoad(String key, Supplier<T> loader);
+
+    /**
+     * Like {@link #getOrLoad(String, Supplier)}, but the loaded value is stored with
+     * {@code ttl.apply(value)}; a {@code null} TTL means never.
+     */
+    <T> T getOrLoad(String key, Supplier<T> loader, Function<? super T, Duration> ttl);
+
+    /**
+     * Sets how {@code getOrLoad} reloads this key; applies to values stored from now on.
+     * A {@code null} or disabled policy restores the default load-on-miss behaviour.
+     */
+    void setRefreshPolicy(String key, RefreshPolicy policy);
+
+    /**
+     * Replaces a live entry with {@code remapping(current)}, keeping its expiry.
+     * Absent or expired entries are left alone; a {@code null} result removes the entry.
+     */
+    <T> void computeIfPresent(String key, UnaryOperator<T> remapping);
+
+    void remove(String key);
+
+    /**
+     * Removes every entry whose key starts with {@code prefix}; a full scan, meant for rare writes.
+     */
+    void removeByPrefix(String prefix);
+
+    void clear();
+
+    CacheStats stats();
+}
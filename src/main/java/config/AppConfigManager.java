@@ -0,0 +1,319 @@
+package config;
+
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Application-level settings that are not about the database connection.
+ * Values come from system properties first, then environment variables.
+ */
+public final class AppConfigManager {
+
+    private static volatile AppConfigManager instance;
+
+    private final int pageDefaultSize;
+    private final int pageMaxSize;
+    private final long activeOffersMaxAgeSeconds;
+    private final long cacheMaxWeight;
+    private final long cacheDefaultTtlSeconds;
+    private final int cacheRefreshThreads;
+    private final long catalogRefreshAfterSeconds;
+    private final long catalogStaleWhileRevalidateSeconds;
+    private final long catalogStaleIfErrorSeconds;
+    private final int loggingBufferSize;
+    private final int loggingBatchSize;
+    private final String loggingOverflowPolicy;
+    private final int loggingSampleRate;
+    private final String loggingFile;
+    private final String loggingLevel;
+    private final int loggingErrorRateLimitPerSecond;
+    private final int loggingErrorSampleRate;
+    private final boolean virtualThreads;
+    private final boolean priceWriteBehind;
+    private final long priceWriteBehindFlushIntervalMs;
+    private final int priceWriteBehindMaxPending;
+
+    private AppConfigManager() {
+        Properties sys = System.getProperties();
+
+        this.pageDefaultSize = Integer.parseInt(firstNonNull(
+                sys.getProperty("api.page.default-size"),
+                System.getenv("API_PAGE_DEFAULT_SIZE"),
+                "20"
+        ));
+
+        this.pageMaxSize = Integer.parseInt(firstNonNull(
+                sys.getProperty("api.page.max-size"),
+                System.getenv("API_PAGE_MAX_SIZE"),
+                "100"
+        ));
+
+        this.activeOffersMaxAgeSeconds = Long.parseLong(firstNonNull(
+                sys.getProperty("api.offers.active-max-age-seconds"),
+                System.getenv("API_OFFERS_ACTIVE_MAX_AGE_SECONDS"),
+                "60"
+        ));
+
+        this.cacheMaxWeight = Long.parseLong(firstNonNull(
+                sys.getProperty("cache.max-weight"),
+                System.getenv("CACHE_MAX_WEIGHT"),
+                "100000"
+        ));
+
+        this.cacheDefaultTtlSeconds = Long.parseLong(firstNonNull(
+                sys.getProperty("cache.default-ttl-seconds"),
+                System.getenv("CACHE_DEFAULT_TTL_SECONDS"),
+                "300"
+        ));
+
+        this.cacheRefreshThreads = Integer.parseInt(firstNonNull(
+                sys.getProperty("cache.refresh-threads"),
+                System.getenv("CACHE_REFRESH_THREADS"),
+                "2"
+        ));
+
+        this.catalogRefreshAfterSeconds = Long.parseLong(firstNonNull(
+                sys.getProperty("cache.catalog.refresh-after-seconds"),
+                System.getenv("CACHE_CATALOG_REFRESH_AFTER_SECONDS"),
+                "0"
+        ));
+
+        this.catalogStaleWhileRevalidateSeconds = Long.parseLong(firstNonNull(
+                sys.getProperty("cache.catalog.stale-while-revalidate-seconds"),
+                System.getenv("CACHE_CATALOG_STALE_WHILE_REVALIDATE_SECONDS"),
+                "0"
+        ));
+
+        this.catalogStaleIfErrorSeconds = Long.parseLong(firstNonNull(
+                sys.getProperty("cache.catalog.stale-if-error-seconds"),
+                System.getenv("CACHE_CATALOG_STALE_IF_ERROR_SECONDS"),
+                "0"
+        ));
+
+        this.loggingBufferSize = Integer.parseInt(firstNonNull(
+                sys.getProperty("logging.buffer-size"),
+                System.getenv("LOGGING_BUFFER_SIZE"),
+                "8192"
+        ));
+
+        this.loggingBatchSize = Integer.parseInt(firstNonNull(
+                sys.getProperty("logging.batch-size"),
+                System.getenv("LOGGING_BATCH_SIZE"),
+                "512"
+        ));
+
+        this.loggingOverflowPolicy = firstNonNull(
+                sys.getProperty("logging.overflow-policy"),
+                System.getenv("LOGGING_OVERFLOW_POLICY"),
+                "DROP"
+        );
+
+        this.loggingSampleRate = Integer.parseInt(firstNonNull(
+                sys.getProperty("logging.sample-rate"),
+                System.getenv("LOGGING_SAMPLE_RATE"),
+                "10"
+        ));
+
+        this.loggingFile = firstNonNull(
+                sys.getProperty("logging.file"),
+                System.getenv("LOGGING_FILE"),
+                ""
+        );
+
+        this.loggingLevel = firstNonNull(
+                sys.getProperty("logging.level"),
+                System.getenv("LOGGING_LEVEL"),
+                "INFO"
+        );
+
+        this.loggingErrorRateLimitPerSecond = Integer.parseInt(firstNonNull(
+                sys.getProperty("logging.error.rate-limit-per-second"),
+                System.getenv("LOGGING_ERROR_RATE_LIMIT_PER_SECOND"),
+                "10"
+        ));
+
+        this.loggingErrorSampleRate = Integer.parseInt(firstNonNull(
+                sys.getProperty("logging.error.sample-rate"),
+                System.getenv("LOGGING_ERROR_SAMPLE_RATE"),
+                "100"
+        ));
+
+        // Same key Spring Boot reads to run Tomcat on virtual threads, so one switch covers both.
+        this.virtualThreads = Boolean.parseBoolean(firstNonNull(
+                sys.getProperty("spring.threads.virtual.enabled"),
+                System.getenv("SPRING_THREADS_VIRTUAL_ENABLED"),
+                "false"
+        ));
+
+        this.priceWriteBehind = Boolean.parseBoolean(firstNonNull(
+                sys.getProperty("write-behind.prices.enabled"),
+                System.getenv("WRITE_BEHIND_PRICES_ENABLED"),
+                "false"
+        ));
+
+        this.priceWriteBehindFlushIntervalMs = Long.parseLong(firstNonNull(
+                sys.getProperty("write-behind.prices.flush-interval-ms"),
+                System.getenv("WRITE_BEHIND_PRICES_FLUSH_INTERVAL_MS"),
+                "200"
+        ));
+
+        this.priceWriteBehindMaxPending = Integer.parseInt(firstNonNull(
+                sys.getProperty("write-behind.prices.max-pending"),
+                System.getenv("WRITE_BEHIND_PRICES_MAX_PENDING"),
+                "1000"
+        ));
+    }
+
+    public static AppConfigManager getInstance() {
+        if (instance == null) {
+            synchronized (AppConfigManager.class) {
+                if (instance == null) {
+                    instance = new AppConfigManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private String firstNonNull(String a, String b, String fallback) {
+        if (a != null && !a.isBlank()) return a;
+        if (b != null && !b.isBlank()) return b;
+        return Objects.requireNonNull(fallback);
+    }
+
+    public int getPageDefaultSize() {
+        return pageDefaultSize;
+    }
+
+    public int getPageMaxSize() {
+        return pageMaxSize;
+    }
+
+    /**
+     * Upper bound on Cache-Control max-age for GET /api/offers/active; the
+     * next offer boundary may make it shorter.
+     */
+    public long getActiveOffersMaxAgeSeconds() {
+        return activeOffersMaxAgeSeconds;
+    }
+
+    /**
+     * Upper bound on the summed weight of cached values (a list weighs its size).
+     */
+    public long getCacheMaxWeight() {
+        return cacheMaxWeight;
+    }
+
+    /**
+     * Time-to-live for entries stored without an explicit one; 0 disables expiry.
+     */
+    public long getCacheDefaultTtlSeconds() {
+        return cacheDefaultTtlSeconds;
+    }
+
+    /**
+     * Background threads that run refresh-ahead and stale-while-revalidate reloads.
+     */
+    public int getCacheRefreshThreads() {
+        return cacheRefreshThreads;
+    }
+
+    /**
+     * Age after which the cached food item list is reloaded in the background; 0 disables.
+     */
+    public long getCatalogRefreshAfterSeconds() {
+        return catalogRefreshAfterSeconds;
+    }
+
+    public long getCatalogStaleWhileRevalidateSeconds() {
+        return catalogStaleWhileRevalidateSeconds;
+    }
+
+    public long getCatalogStaleIfErrorSeconds() {
+        return catalogStaleIfErrorSeconds;
+    }
+
+    /**
+     * Capacity of the log ring buffer, rounded up to a power of two.
+     */
+    public int getLoggingBufferSize() {
+        return loggingBufferSize;
+    }
+
+    /**
+     * Most records the writer thread formats before one write to the output.
+     */
+    public int getLoggingBatchSize() {
+        return loggingBatchSize;
+    }
+
+    /**
+     * DROP, BLOCK or SAMPLE; see {@code logging.OverflowPolicy}.
+     */
+    public String getLoggingOverflowPolicy() {
+        return loggingOverflowPolicy;
+    }
+
+    /**
+     * Under SAMPLE, one in this many INFO records is kept while the buffer is half full.
+     */
+    public int getLoggingSampleRate() {
+        return loggingSampleRate;
+    }
+
+    /**
+     * File that log lines are appended to; blank means standard output.
+     */
+    public String getLoggingFile() {
+        return loggingFile;
+    }
+
+    /**
+     * Initial threshold: DEBUG, INFO, WARN, ERROR or OFF; changeable at runtime.
+     */
+    public String getLoggingLevel() {
+        return loggingLevel;
+    }
+
+    /**
+     * WARN/ERROR records each call site may log per second; 0 disables the limit.
+     */
+    public int getLoggingErrorRateLimitPerSecond() {
+        return loggingErrorRateLimitPerSecond;
+    }
+
+    /**
+     * Past the rate limit, one in this many records is still logged; 0 logs none.
+     */
+    public int getLoggingErrorSampleRate() {
+        return loggingErrorSampleRate;
+    }
+
+    /**
+     * Whether request handling and background work run on virtual threads (JDK 21+).
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Whether price updates are buffered and written in batches instead of one UPDATE each.
+     */
+    public boolean isPriceWriteBehind() {
+        return priceWriteBehind;
+    }
+
+    /**
+     * Delay between write-behind flushes; the usual upper bound on how long a price stays unwritten.
+     */
+    public long getPriceWriteBehindFlushIntervalMs() {
+        return priceWriteBehindFlushIntervalMs;
+    }
+
+    /**
+     * Buffered prices that trigger a flush ahead of the schedule.
+     */
+    public int getPriceWriteBehindMaxPending() {
+        return priceWriteBehindMaxPending;
+    }
+}
@@ -10,6 +10,26 @@ public final class DatabaseConfigManager {
     private final String url;
     private final String username;
     private final String password;
+    private final String r2dbcUrl;
+
+    private final int poolMinIdle;
+    private final int poolMaxSize;
+    private final long poolConnectionTimeoutMs;
+    private final long poolIdleTimeoutMs;
+    private final long poolMaxLifetimeMs;
+    private final long poolLeakDetectionThresholdMs;
+    private final int statementCacheQueries;
+    private final int statementCacheSizeMiB;
+    private final int prepareThreshold;
+    private final int batchSize;
+    private final int streamFetchSize;
+    private final int streamPoolSize;
+    private final long streamAcquireTimeoutMs;
+    private final long streamMaxDurationMs;
+    private final boolean instrumentationEnabled;
+    private final long slowQueryThresholdMs;
+    private final boolean slowQueryExplain;
+    private final int slowQueryHistory;
 
     private DatabaseConfigManager() {
         Properties sys = System.getProperties();
@@ -31,6 +51,121 @@ public final class DatabaseConfigManager {
                 System.getenv("DB_PASSWORD"),
                 "postgres"
         );
+
+        // Used only by the "reactive" profile; credentials and pool sizes are shared with JDBC.
+        this.r2dbcUrl = firstNonNull(
+                sys.getProperty("db.r2dbc.url"),
+                System.getenv("DB_R2DBC_URL"),
+                "r2dbc:postgresql://localhost:5432/food_delivery"
+        );
+
+        this.poolMinIdle = Integer.parseInt(firstNonNull(
+                sys.getProperty("db.pool.min-idle"),
+                System.getenv("DB_POOL_MIN_IDLE"),
+                "5"
+        ));
+
+        this.poolMaxSize = Integer.parseInt(firstNonNull(
+                sys.getProperty("db.pool.max-size"),
+                System.getenv("DB_POOL_MAX_SIZE"),
+                "20"
+        ));
+
+        this.poolConnectionTimeoutMs = Long.parseLong(firstNonNull(
+                sys.getProperty("db.pool.connection-timeout-ms"),
+                System.getenv("DB_POOL_CONNECTION_TIMEOUT_MS"),
+                "3000"
+        ));
+
+        this.poolIdleTimeoutMs = Long.parseLong(firstNonNull(
+                sys.getProperty("db.pool.idle-timeout-ms"),
+                System.getenv("DB_POOL_IDLE_TIMEOUT_MS"),
+                "600000"
+        ));
+
+        this.poolMaxLifetimeMs = Long.parseLong(firstNonNull(
+                sys.getProperty("db.pool.max-lifetime-ms"),
+                System.getenv("DB_POOL_MAX_LIFETIME_MS"),
+                "1800000"
+        ));
+
+        this.poolLeakDetectionThresholdMs = Long.parseLong(firstNonNull(
+                sys.getProperty("db.pool.leak-detection-threshold-ms"),
+                System.getenv("DB_POOL_LEAK_DETECTION_THRESHOLD_MS"),
+                "10000"
+        ));
+
+        this.statementCacheQueries = Integer.parseInt(firstNonNull(
+                sys.getProperty("db.statement-cache.queries"),
+                System.getenv("DB_STATEMENT_CACHE_QUERIES"),
+                "256"
+        ));
+
+        this.statementCacheSizeMiB = Integer.parseInt(firstNonNull(
+                sys.getProperty("db.statement-cache.size-mib"),
+                System.getenv("DB_STATEMENT_CACHE_SIZE_MIB"),
+                "5"
+        ));
+
+        this.prepareThreshold = Integer.parseInt(firstNonNull(
+                sys.getProperty("db.statement-cache.prepare-threshold"),
+                System.getenv("DB_STATEMENT_CACHE_PREPARE_THRESHOLD"),
+                "1"
+        ));
+
+        this.batchSize = Integer.parseInt(firstNonNull(
+                sys.getProperty("db.batch.size"),
+                System.getenv("DB_BATCH_SIZE"),
+                "500"
+        ));
+
+        this.streamFetchSize = Integer.parseInt(firstNonNull(
+                sys.getProperty("db.stream.fetch-size"),
+                System.getenv("DB_STREAM_FETCH_SIZE"),
+                "500"
+        ));
+
+        this.streamPoolSize = Integer.parseInt(firstNonNull(
+                sys.getProperty("db.stream.pool-size"),
+                System.getenv("DB_STREAM_POOL_SIZE"),
+                "2"
+        ));
+
+        this.streamAcquireTimeoutMs = Long.parseLong(firstNonNull(
+                sys.getProperty("db.stream.acquire-timeout-ms"),
+                System.getenv("DB_STREAM_ACQUIRE_TIMEOUT_MS"),
+                "1000"
+        ));
+
+        this.streamMaxDurationMs = Long.parseLong(firstNonNull(
+                sys.getProperty("db.stream.max-duration-ms"),
+                System.getenv("DB_STREAM_MAX_DURATION_MS"),
+                "120000"
+        ));
+
+        this.instrumentationEnabled = Boolean.parseBoolean(firstNonNull(
+                sys.getProperty("db.instrumentation.enabled"),
+                System.getenv("DB_INSTRUMENTATION_ENABLED"),
+                "true"
+        ));
+
+        this.slowQueryThresholdMs = Long.parseLong(firstNonNull(
+                sys.getProperty("db.slow-query.threshold-ms"),
+                System.getenv("DB_SLOW_QUERY_THRESHOLD_MS"),
+                "200"
+        ));
+
+        this.slowQueryExplain = Boolean.parseBoolean(firstNonNull(
+                sys.getProperty("db.slow-query.explain"),
+                System.getenv("DB_SLOW_QUERY_EXPLAIN"),
+                "false"
+        ));
+
+        this.slowQueryHistory = Integer.parseInt(firstNonNull(
+                sys.getProperty("db.slow-query.history"),
+                System.getenv("DB_SLOW_QUERY_HISTORY"),
+                "50"
+        ));
     }
 
     public static DatabaseConfigManager getInstance() {
@@ -61,5 +196,80 @@ public final class DatabaseConfigManager {
     public String getPassword() {
         return password;
     }
-}
 
+    public String getR2dbcUrl() {
+        return r2dbcUrl;
+    }
+
+    public int getPoolMinIdle() {
+        return poolMinIdle;
+    }
+
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public long getPoolConnectionTimeoutMs() {
+        return poolConnectionTimeoutMs;
+    }
+
+    public long getPoolIdleTimeoutMs() {
+        return poolIdleTimeoutMs;
+    }
+
+    public long getPoolMaxLifetimeMs() {
+        return poolMaxLifetimeMs;
+    }
+
+    public long getPoolLeakDetectionThresholdMs() {
+        return poolLeakDetectionThresholdMs;
+    }
+
+    public int getStatementCacheQueries() {
+        return statementCacheQueries;
+    }
+
+    public int getStatementCacheSizeMiB() {
+        return statementCacheSizeMiB;
+    }
+
+    public int getPrepareThreshold() {
+        return prepareThreshold;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
+    public int getStreamPoolSize() {
+        return streamPoolSize;
+    }
+
+    public long getStreamAcquireTimeoutMs() {
+        return streamAcquireTimeoutMs;
+    }
+
+    public long getStreamMaxDurationMs() {
+        return streamMaxDurationMs;
+    }
+
+    public boolean isInstrumentationEnabled() {
+        return instrumentationEnabled;
+    }
+
+    public long getSlowQueryThresholdMs() {
+        return slowQueryThresholdMs;
+    }
+
+    public boolean isSlowQueryExplain() {
+        return slowQueryExplain;
+    }
+
+    public int getSlowQueryHistory() {
+        return slowQueryHistory;
+    }
+}
@@ -0,0 +1,34 @@
+package config;
+
+import jakarta.annotation.PreDestroy;
+import logging.LoggerService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import utils.DatabaseConnection;
+
+import java.sql.SQLException;
+
+/**
+ * Pre-warms the JDBC pool once the application is up and closes it on shutdown.
+ */
+@Component
+public class DatabasePoolLifecycle {
+
+    private final LoggerService logger = LoggerService.getInstance();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            DatabaseConnection.warmUp();
+            logger.info("Connection pool warmed up: {} connections", DatabaseConnection.getPoolStats().getTotal());
+        } catch (SQLException e) {
+            logger.error("Connection pool warm-up failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        DatabaseConnection.shutdown();
+    }
+}
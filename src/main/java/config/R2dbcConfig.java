@@ -0,0 +1,45 @@
+package config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * R2DBC connection pool for the reactive repositories, configured from
+ * {@link DatabaseConfigManager} like the JDBC pool rather than from
+ * {@code spring.r2dbc.*}.
+ */
+@Configuration
+@Profile("reactive")
+public class R2dbcConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory() {
+        DatabaseConfigManager config = DatabaseConfigManager.getInstance();
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(config.getR2dbcUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, config.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, config.getPassword())
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("food-delivery-r2dbc-pool")
+                .initialSize(config.getPoolMinIdle())
+                .minIdle(config.getPoolMinIdle())
+                .maxSize(config.getPoolMaxSize())
+                .maxAcquireTime(Duration.ofMillis(config.getPoolConnectionTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(config.getPoolIdleTimeoutMs()))
+                .maxLifeTime(Duration.ofMillis(config.getPoolMaxLifetimeMs()))
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,21 @@
+package config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the reactive profile on Netty. Tomcat stays on the classpath for the
+ * servlet stack and Spring Boot would otherwise prefer it, serving WebFlux
+ * through the servlet adapter instead of an event loop.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
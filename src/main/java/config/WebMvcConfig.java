@@ -0,0 +1,35 @@
+package config;
+
+import metrics.MetricsInterceptor;
+import metrics.MetricsRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the request metrics interceptor for the REST API. The metrics
+ * endpoint itself is left out so scrapes do not show up in the numbers.
+ * The reactive profile uses {@link metrics.MetricsWebFilter} instead.
+ *
+ * The async timeout caps {@code /food-items/stream}, the only async
+ * endpoint: on expiry the stream task is interrupted, which also unblocks a
+ * write stuck on a client that stopped reading, and its connection is freed.
+ */
+@Configuration
+@Profile("!reactive")
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(DatabaseConfigManager.getInstance().getStreamMaxDurationMs());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new MetricsInterceptor(MetricsRegistry.getInstance()))
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/metrics");
+    }
+}
@@ -0,0 +1,38 @@
+package controller;
+
+import cache.CacheStats;
+import cache.InMemoryCacheManager;
+import logging.LoggerService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Manual cache invalidation and cache statistics.
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final InMemoryCacheManager cache = InMemoryCacheManager.getInstance();
+    private final LoggerService logger = LoggerService.getInstance();
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        logger.info("DELETE /api/cache");
+        cache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/clear")
+    public ResponseEntity<Void> clearViaPost() {
+        logger.info("POST /api/cache/clear");
+        cache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/stats")
+    public CacheStats stats() {
+        logger.info("GET /api/cache/stats");
+        return cache.stats();
+    }
+}
@@ -0,0 +1,51 @@
+package controller;
+
+import logging.LoggerService;
+import metrics.SlowQuery;
+import metrics.SqlStatsRegistry;
+import metrics.SqlTemplateStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import utils.DatabaseConnection;
+import utils.PoolStats;
+
+import java.util.List;
+
+/**
+ * Runtime view of the JDBC connection pool and of the statements run on it.
+ */
+@RestController
+@RequestMapping("/api/db")
+public class DatabasePoolController {
+
+    private final LoggerService logger = LoggerService.getInstance();
+    private final SqlStatsRegistry sqlStats = SqlStatsRegistry.getInstance();
+
+    @GetMapping("/pool")
+    public PoolStats getPoolStats() {
+        logger.info("GET /api/db/pool");
+        return DatabaseConnection.getPoolStats();
+    }
+
+    @GetMapping("/queries")
+    public List<SqlTemplateStats> getQueryStats() {
+        logger.info("GET /api/db/queries");
+        return sqlStats.templates();
+    }
+
+    @GetMapping("/slow-queries")
+    public List<SlowQuery> getSlowQueries() {
+        logger.info("GET /api/db/slow-queries");
+        return sqlStats.slowQueries();
+    }
+
+    @DeleteMapping("/queries")
+    public ResponseEntity<Void> resetQueryStats() {
+        logger.info("DELETE /api/db/queries");
+        sqlStats.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
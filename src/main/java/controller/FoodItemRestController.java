@@ -1,77 +1,233 @@
 package controller;
 
+import dto.ImportFormat;
+import dto.ImportReport;
+import dto.PageResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import dto.FoodItemRequest;
 import dto.FoodItemResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import logging.LoggerService;
 import model.FoodItem;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import patterns.factory.FoodItemFactory;
+import service.CatalogSnapshot;
 import service.FoodItemService;
+import utils.ETags;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/food-items")
 public class FoodItemRestController {
 
     private final FoodItemService foodItemService;
     private final FoodItemFactory foodItemFactory = new FoodItemFactory();
     private final LoggerService logger = LoggerService.getInstance();
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
 
-    public FoodItemRestController(FoodItemService foodItemService) {
+    public FoodItemRestController(FoodItemService foodItemService, ObjectMapper objectMapper) {
         this.foodItemService = foodItemService;
+        this.objectMapper = objectMapper;
+        // Let the servlet buffer decide when to send bytes instead of flushing after every row.
+        this.rowWriter = objectMapper.writerFor(FoodItemResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
+    /**
+     * Sends the service's pre-serialized catalog bytes, gzip-encoded when the
+     * client accepts it, so a read involves no mapping or serialization. The
+     * ETag is the snapshot's digest: while the catalog is cached a matching
+     * {@code If-None-Match} costs a cache lookup, a reload that returns the same
+     * rows keeps the tag, and one that returns different rows changes it.
+     */
     @GetMapping
-    public List<FoodItemResponse> getAll() {
+    public ResponseEntity<byte[]> getAll(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request, HttpServletResponse response) {
         logger.info("GET /api/food-items");
-        return foodItemService.getAllFoodItems()
+        boolean gzip = acceptsGzip(acceptEncoding);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        CatalogSnapshot catalog = foodItemService.getCatalogSnapshot();
+        if (request.checkNotModified(catalogETag(catalog, gzip))) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache());
+        if (gzip) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ok.body(gzip ? catalog.getGzip() : catalog.getJson());
+    }
+
+    // Each content coding is a different representation and needs its own strong tag.
+    private static String catalogETag(CatalogSnapshot catalog, boolean gzip) {
+        return ETags.ofContent("food-items", catalog.getDigest(), gzip ? "gzip" : null);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].replace(" ", "").matches("q=0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Keyset-paginated listing, selected by the {@code limit} parameter.
+     * Pass {@code nextCursor} from the previous page as {@code cursor}.
+     */
+    @GetMapping(params = "limit")
+    public PageResponse<FoodItemResponse> getPage(@RequestParam("limit") Integer limit,
+                                                  @RequestParam(value = "cursor", required = false) String cursor) {
+        logger.info("GET /api/food-items?limit={}", limit);
+        return foodItemService.getFoodItemsPage(cursor, limit).map(FoodItemResponse::from);
+    }
+
+    /**
+     * Catalog ordered by name (case-insensitive), served from a presorted in-memory view.
+     */
+    @GetMapping("/sorted")
+    public ResponseEntity<List<FoodItemResponse>> getAllSortedByName(WebRequest request) {
+        logger.info("GET /api/food-items/sorted");
+        if (request.checkNotModified(ETags.of("food-items-sorted", foodItemService.getCatalogVersion()))) {
+            return null;
+        }
+        List<FoodItemResponse> items = foodItemService.getAllFoodItemsSortedByName()
                 .stream()
-                .map(this::toResponse)
+                .map(FoodItemResponse::from)
                 .collect(Collectors.toList());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(items);
+    }
+
+    /**
+     * Name-ordered keyset pagination, evaluated in SQL.
+     */
+    @GetMapping(value = "/sorted", params = "limit")
+    public PageResponse<FoodItemResponse> getSortedPage(@RequestParam("limit") Integer limit,
+                                                        @RequestParam(value = "cursor", required = false) String cursor) {
+        logger.info("GET /api/food-items/sorted?limit={}", limit);
+        return foodItemService.getFoodItemsSortedByNamePage(cursor, limit).map(FoodItemResponse::from);
+    }
+
+    /**
+     * Full catalog written row by row from a database cursor, so heap use does
+     * not grow with the table and the first bytes go out before the last row is read.
+     *
+     * Nothing is flushed before the first buffer fills, so a busy stream pool
+     * still gets a proper 503. On a failure after that the generator is left
+     * unclosed: the client sees a truncated body, not a valid but short array.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        logger.info("GET /api/food-items/stream");
+        StreamingResponseBody body = out -> {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            json.writeStartArray();
+            foodItemService.streamAllFoodItems(item -> {
+                try {
+                    rowWriter.writeValue(json, FoodItemResponse.from(item));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+            json.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/{id}")
     public FoodItemResponse getById(@PathVariable int id) {
-        logger.info("GET /api/food-items/" + id);
-        return toResponse(foodItemService.getFoodItemById(id));
+        logger.info("GET /api/food-items/{}", id);
+        return FoodItemResponse.from(foodItemService.getFoodItemById(id));
     }
 
     @PostMapping
     public ResponseEntity<FoodItemResponse> create(@RequestBody @Validated FoodItemRequest request) {
-        logger.info("POST /api/food-items name=" + request.getName());
+        logger.info("POST /api/food-items name={}", request.getName());
         FoodItem item = foodItemFactory.create(request);
         FoodItem saved = foodItemService.addFoodItem(item);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(saved));
+        return ResponseEntity.status(HttpStatus.CREATED).body(FoodItemResponse.from(saved));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<FoodItemResponse>> createBatch(@RequestBody List<@Valid FoodItemRequest> requests) {
+        logger.info("POST /api/food-items/batch size={}", requests.size());
+        List<FoodItem> items = requests.stream()
+                .map(foodItemFactory::create)
+                .collect(Collectors.toList());
+        List<FoodItemResponse> saved = foodItemService.addFoodItems(items)
+                .stream()
+                .map(FoodItemResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    }
+
+    /**
+     * Streams an NDJSON ({@code application/x-ndjson}) or CSV ({@code text/csv})
+     * body straight into the database without buffering it.
+     */
+    @PostMapping("/import")
+    public ImportReport importRows(HttpServletRequest request) throws IOException {
+        logger.info("POST /api/food-items/import contentType={}", request.getContentType());
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        try (Reader body = new InputStreamReader(request.getInputStream(), charset)) {
+            return foodItemService.importFoodItems(body, format);
+        }
     }
 
     @PutMapping("/{id}/price")
     public ResponseEntity<Void> updatePrice(@PathVariable int id,
                                             @RequestParam("price") double newPrice) {
-        logger.info("PUT /api/food-items/" + id + "/price");
-        FoodItem existing = foodItemService.getFoodItemById(id);
-        foodItemService.updatePrice(existing.getName(), newPrice);
+        logger.info("PUT /api/food-items/{}/price", id);
+        foodItemService.updatePriceById(id, newPrice);
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable int id) {
-        logger.info("DELETE /api/food-items/" + id);
+        logger.info("DELETE /api/food-items/{}", id);
         foodItemService.deleteFoodItemById(id);
         return ResponseEntity.noContent().build();
     }
-
-    private FoodItemResponse toResponse(FoodItem item) {
-        FoodItemResponse resp = new FoodItemResponse();
-        resp.setId(item.getId());
-        resp.setName(item.getName());
-        resp.setPrice(item.getPrice());
-        resp.setDescription(item.getDescription());
-        return resp;
-    }
 }
 
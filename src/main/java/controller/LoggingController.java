@@ -0,0 +1,49 @@
+package controller;
+
+import exception.ValidationException;
+import logging.LogLevel;
+import logging.LoggerService;
+import logging.LoggingStats;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+
+/**
+ * Runtime view of the logger and its threshold / error rate limit.
+ */
+@RestController
+@RequestMapping("/api/logging")
+public class LoggingController {
+
+    private final LoggerService logger = LoggerService.getInstance();
+
+    @GetMapping
+    public LoggingStats stats() {
+        logger.debug("GET /api/logging");
+        return logger.stats();
+    }
+
+    @PutMapping
+    public LoggingStats update(@RequestParam(required = false) String level,
+                               @RequestParam(required = false) Integer errorRateLimitPerSecond) {
+        logger.info("PUT /api/logging level={} errorRateLimitPerSecond={}", level, errorRateLimitPerSecond);
+        if (errorRateLimitPerSecond != null && errorRateLimitPerSecond < 0) {
+            throw new ValidationException("errorRateLimitPerSecond must not be negative");
+        }
+        if (level != null) {
+            logger.setLevel(parseLevel(level));
+        }
+        if (errorRateLimitPerSecond != null) {
+            logger.setErrorRateLimitPerSecond(errorRateLimitPerSecond);
+        }
+        return logger.stats();
+    }
+
+    private static LogLevel parseLevel(String level) {
+        try {
+            return LogLevel.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown log level: " + level);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package controller;
+
+import logging.LoggerService;
+import metrics.MetricsRegistry;
+import metrics.MetricsSnapshot;
+import metrics.PrometheusFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Per-route request metrics plus cache, pool and logger gauges, as JSON or
+ * in the Prometheus text format ({@code ?format=prometheus} or
+ * {@code Accept: text/plain}).
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+    private final LoggerService logger = LoggerService.getInstance();
+
+    @GetMapping
+    public ResponseEntity<?> getMetrics(@RequestParam(required = false) String format,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        logger.debug("GET /api/metrics format={}", format);
+        MetricsSnapshot snapshot = registry.snapshot();
+        if (wantsPrometheus(format, accept)) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_TYPE, PrometheusFormat.CONTENT_TYPE)
+                    .body(PrometheusFormat.write(snapshot));
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(snapshot);
+    }
+
+    private static boolean wantsPrometheus(String format, String accept) {
+        if (format != null) {
+            return "prometheus".equalsIgnoreCase(format);
+        }
+        return accept != null && accept.contains(MediaType.TEXT_PLAIN_VALUE) && !accept.contains("json");
+    }
+}
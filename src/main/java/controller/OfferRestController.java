@@ -1,20 +1,40 @@
 package controller;
 
+import config.AppConfigManager;
+import dto.ImportFormat;
+import dto.ImportReport;
+import dto.PageResponse;
 import dto.OfferRequest;
 import dto.OfferResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import logging.LoggerService;
 import model.Offer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import patterns.builder.OfferBuilder;
 import service.OfferService;
-
+import utils.ETags;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/offers")
 public class OfferRestController {
 
@@ -26,41 +46,76 @@ public class OfferRestController {
     }
 
     @GetMapping
-    public List<OfferResponse> getAll() {
+    public ResponseEntity<List<OfferResponse>> getAll(WebRequest request) {
         logger.info("GET /api/offers");
-        return offerService.getAllOffers()
+        if (request.checkNotModified(ETags.of("offers", offerService.getOffersVersion()))) {
+            return null;
+        }
+        List<OfferResponse> offers = offerService.getAllOffers()
                 .stream()
-                .map(this::toResponse)
+                .map(OfferResponse::from)
                 .collect(Collectors.toList());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(offers);
+    }
+
+    /**
+     * Keyset-paginated listing, selected by the {@code limit} parameter.
+     * Pass {@code nextCursor} from the previous page as {@code cursor}.
+     */
+    @GetMapping(params = "limit")
+    public PageResponse<OfferResponse> getPage(@RequestParam("limit") Integer limit,
+                                               @RequestParam(value = "cursor", required = false) String cursor) {
+        logger.info("GET /api/offers?limit={}", limit);
+        return offerService.getOffersPage(cursor, limit).map(OfferResponse::from);
     }
 
+    /**
+     * The active set also changes when an offer starts or ends, so the ETag
+     * carries the next such day next to the write version, and max-age never
+     * reaches past it.
+     */
     @GetMapping("/active")
-    public List<OfferResponse> getActive() {
+    public ResponseEntity<List<OfferResponse>> getActive(WebRequest request) {
         logger.info("GET /api/offers/active");
-        return offerService.getActiveOffers()
+        long version = offerService.getOffersVersion();
+        LocalDate nextChange = offerService.getNextActiveOffersChange();
+        if (request.checkNotModified(ETags.of("offers-active", version, nextChange == null ? "none" : nextChange))) {
+            return null;
+        }
+        List<OfferResponse> offers = offerService.getActiveOffers()
                 .stream()
-                .map(this::toResponse)
+                .map(OfferResponse::from)
                 .collect(Collectors.toList());
+        return ResponseEntity.ok().cacheControl(activeOffersCacheControl(nextChange)).body(offers);
+    }
+
+    private CacheControl activeOffersCacheControl(LocalDate nextChange) {
+        long maxAge = AppConfigManager.getInstance().getActiveOffersMaxAgeSeconds();
+        if (nextChange != null) {
+            long untilChange = Duration.between(LocalDateTime.now(), nextChange.atStartOfDay()).getSeconds();
+            maxAge = Math.max(0, Math.min(maxAge, untilChange));
+        }
+        return CacheControl.maxAge(maxAge, TimeUnit.SECONDS).mustRevalidate();
     }
 
     @GetMapping("/{id}")
     public OfferResponse getById(@PathVariable int id) {
-        logger.info("GET /api/offers/" + id);
-        return toResponse(offerService.getOfferById(id));
+        logger.info("GET /api/offers/{}", id);
+        return OfferResponse.from(offerService.getOfferById(id));
     }
 
     @GetMapping("/by-food/{foodItemId}")
     public List<OfferResponse> getByFoodItem(@PathVariable int foodItemId) {
-        logger.info("GET /api/offers/by-food/" + foodItemId);
+        logger.info("GET /api/offers/by-food/{}", foodItemId);
         return offerService.getOffersByFoodItemId(foodItemId)
                 .stream()
-                .map(this::toResponse)
+                .map(OfferResponse::from)
                 .collect(Collectors.toList());
     }
 
     @PostMapping
     public ResponseEntity<OfferResponse> create(@RequestBody @Validated OfferRequest request) {
-        logger.info("POST /api/offers for foodItemId=" + request.getFoodItemId());
+        logger.info("POST /api/offers for foodItemId={}", request.getFoodItemId());
         Offer offer = new OfferBuilder()
                 .foodItemId(request.getFoodItemId())
                 .discountPercentage(request.getDiscountPercentage())
@@ -71,15 +126,56 @@ public class OfferRestController {
                 .build();
 
         offerService.addOffer(offer);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(offer));
+        return ResponseEntity.status(HttpStatus.CREATED).body(OfferResponse.from(offer));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<OfferResponse>> createBatch(@RequestBody List<@Valid OfferRequest> requests) {
+        logger.info("POST /api/offers/batch size={}", requests.size());
+        List<Offer> offers = requests.stream()
+                .map(request -> new OfferBuilder()
+                        .foodItemId(request.getFoodItemId())
+                        .discountPercentage(request.getDiscountPercentage())
+                        .description(request.getDescription())
+                        .startDate(request.getStartDate())
+                        .endDate(request.getEndDate())
+                        .active(true)
+                        .build())
+                .collect(Collectors.toList());
+
+        offerService.addOffers(offers);
+        List<OfferResponse> saved = offers.stream()
+                .map(OfferResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    }
+
+    /**
+     * Streams an NDJSON ({@code application/x-ndjson}) or CSV ({@code text/csv})
+     * body straight into the database without buffering it.
+     */
+    @PostMapping("/import")
+    public ImportReport importRows(HttpServletRequest request) throws IOException {
+        logger.info("POST /api/offers/import contentType={}", request.getContentType());
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        try (Reader body = new InputStreamReader(request.getInputStream(), charset)) {
+            return offerService.importOffers(body, format);
+        }
     }
 
+    /**
+     * Send the {@code version} from the last read to fail with 409 instead of
+     * overwriting someone else's change; omit it to overwrite unconditionally.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<OfferResponse> update(@PathVariable int id,
                                                 @RequestBody @Validated OfferRequest request) {
-        logger.info("PUT /api/offers/" + id);
-        Offer existing = offerService.getOfferById(id);
-        Offer updated = OfferBuilder.fromExisting(existing)
+        logger.info("PUT /api/offers/{}", id);
+        Offer offer = new OfferBuilder()
+                .id(id)
                 .foodItemId(request.getFoodItemId())
                 .discountPercentage(request.getDiscountPercentage())
                 .description(request.getDescription())
@@ -87,34 +183,23 @@ public class OfferRestController {
                 .endDate(request.getEndDate())
                 .build();
 
-        offerService.updateOffer(updated);
-        return ResponseEntity.ok(toResponse(updated));
+        Offer updated = offerService.updateOffer(offer, request.getVersion());
+        return ResponseEntity.ok(OfferResponse.from(updated));
     }
 
     @PostMapping("/{id}/deactivate")
-    public ResponseEntity<Void> deactivate(@PathVariable int id) {
-        logger.info("POST /api/offers/" + id + "/deactivate");
-        offerService.deactivateOffer(id);
+    public ResponseEntity<Void> deactivate(@PathVariable int id,
+                                           @RequestParam(value = "version", required = false) Integer version) {
+        logger.info("POST /api/offers/{}/deactivate", id);
+        offerService.deactivateOffer(id, version);
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable int id) {
-        logger.info("DELETE /api/offers/" + id);
-        offerService.deleteOffer(id);
+    public ResponseEntity<Void> delete(@PathVariable int id,
+                                       @RequestParam(value = "version", required = false) Integer version) {
+        logger.info("DELETE /api/offers/{}", id);
+        offerService.deleteOffer(id, version);
         return ResponseEntity.noContent().build();
     }
-
-    private OfferResponse toResponse(Offer offer) {
-        OfferResponse resp = new OfferResponse();
-        resp.setId(offer.getId());
-        resp.setFoodItemId(offer.getFoodItemId());
-        resp.setDiscountPercentage(offer.getDiscountPercentage());
-        resp.setDescription(offer.getDescription());
-        resp.setStartDate(offer.getStartDate());
-        resp.setEndDate(offer.getEndDate());
-        resp.setActive(offer.isActive());
-        return resp;
-    }
 }
-
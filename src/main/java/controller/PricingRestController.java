@@ -0,0 +1,28 @@
+package controller;
+
+import dto.QuoteRequest;
+import dto.QuoteResponse;
+import logging.LoggerService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import service.PricingService;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/pricing")
+public class PricingRestController {
+
+    private final PricingService pricingService;
+    private final LoggerService logger = LoggerService.getInstance();
+
+    public PricingRestController(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    @PostMapping("/quote")
+    public QuoteResponse quote(@RequestBody @Validated QuoteRequest request) {
+        logger.info("POST /api/pricing/quote lines={}", request.getLines().size());
+        return pricingService.quote(request.getLines());
+    }
+}
@@ -0,0 +1,98 @@
+package controller;
+
+import dto.FoodItemRequest;
+import dto.FoodItemResponse;
+import dto.PageResponse;
+import logging.LoggerService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import patterns.factory.FoodItemFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import service.ReactiveFoodItemService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux version of {@link FoodItemRestController}, active under the
+ * "reactive" profile. Batch and import stay servlet-only.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/food-items")
+public class ReactiveFoodItemController {
+
+    private final ReactiveFoodItemService foodItemService;
+    private final FoodItemFactory foodItemFactory = new FoodItemFactory();
+    private final LoggerService logger = LoggerService.getInstance();
+
+    public ReactiveFoodItemController(ReactiveFoodItemService foodItemService) {
+        this.foodItemService = foodItemService;
+    }
+
+    @GetMapping
+    public Mono<List<FoodItemResponse>> getAll() {
+        logger.info("GET /api/food-items");
+        return foodItemService.getAllFoodItems()
+                .map(items -> items.stream()
+                        .map(FoodItemResponse::from)
+                        .collect(Collectors.toList()));
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<PageResponse<FoodItemResponse>> getPage(@RequestParam("limit") Integer limit,
+                                                        @RequestParam(value = "cursor", required = false) String cursor) {
+        logger.info("GET /api/food-items?limit={}", limit);
+        return foodItemService.getFoodItemsPage(cursor, limit).map(page -> page.map(FoodItemResponse::from));
+    }
+
+    @GetMapping(value = "/sorted", params = "limit")
+    public Mono<PageResponse<FoodItemResponse>> getSortedPage(@RequestParam("limit") Integer limit,
+                                                              @RequestParam(value = "cursor", required = false) String cursor) {
+        logger.info("GET /api/food-items/sorted?limit={}", limit);
+        return foodItemService.getFoodItemsSortedByNamePage(cursor, limit)
+                .map(page -> page.map(FoodItemResponse::from));
+    }
+
+    /**
+     * One JSON object per line as rows arrive, with backpressure from the client.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FoodItemResponse> streamAll() {
+        logger.info("GET /api/food-items/stream");
+        return foodItemService.streamAllFoodItems().map(FoodItemResponse::from);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<FoodItemResponse> getById(@PathVariable int id) {
+        logger.info("GET /api/food-items/{}", id);
+        return foodItemService.getFoodItemById(id).map(FoodItemResponse::from);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<FoodItemResponse>> create(@RequestBody @Validated FoodItemRequest request) {
+        logger.info("POST /api/food-items name={}", request.getName());
+        return foodItemService.addFoodItem(foodItemFactory.create(request))
+                .map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(FoodItemResponse.from(saved)));
+    }
+
+    @PutMapping("/{id}/price")
+    public Mono<ResponseEntity<Void>> updatePrice(@PathVariable int id,
+                                                  @RequestParam("price") double newPrice) {
+        logger.info("PUT /api/food-items/{}/price", id);
+        return foodItemService.updatePriceById(id, newPrice)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable int id) {
+        logger.info("DELETE /api/food-items/{}", id);
+        return foodItemService.deleteFoodItemById(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
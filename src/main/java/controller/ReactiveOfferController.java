@@ -0,0 +1,120 @@
+package controller;
+
+import dto.OfferRequest;
+import dto.OfferResponse;
+import dto.PageResponse;
+import logging.LoggerService;
+import model.Offer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import patterns.builder.OfferBuilder;
+import reactor.core.publisher.Mono;
+import service.ReactiveOfferService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux version of {@link OfferRestController}, active under the
+ * "reactive" profile. Batch and import stay servlet-only.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/offers")
+public class ReactiveOfferController {
+
+    private final ReactiveOfferService offerService;
+    private final LoggerService logger = LoggerService.getInstance();
+
+    public ReactiveOfferController(ReactiveOfferService offerService) {
+        this.offerService = offerService;
+    }
+
+    @GetMapping
+    public Mono<List<OfferResponse>> getAll() {
+        logger.info("GET /api/offers");
+        return offerService.getAllOffers().map(ReactiveOfferController::toResponses);
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<PageResponse<OfferResponse>> getPage(@RequestParam("limit") Integer limit,
+                                                     @RequestParam(value = "cursor", required = false) String cursor) {
+        logger.info("GET /api/offers?limit={}", limit);
+        return offerService.getOffersPage(cursor, limit).map(page -> page.map(OfferResponse::from));
+    }
+
+    @GetMapping("/active")
+    public Mono<List<OfferResponse>> getActive() {
+        logger.info("GET /api/offers/active");
+        return offerService.getActiveOffers().map(ReactiveOfferController::toResponses);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<OfferResponse> getById(@PathVariable int id) {
+        logger.info("GET /api/offers/{}", id);
+        return offerService.getOfferById(id).map(OfferResponse::from);
+    }
+
+    @GetMapping("/by-food/{foodItemId}")
+    public Mono<List<OfferResponse>> getByFoodItem(@PathVariable int foodItemId) {
+        logger.info("GET /api/offers/by-food/{}", foodItemId);
+        return offerService.getOffersByFoodItemId(foodItemId).map(ReactiveOfferController::toResponses);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<OfferResponse>> create(@RequestBody @Validated OfferRequest request) {
+        logger.info("POST /api/offers for foodItemId={}", request.getFoodItemId());
+        Offer offer = new OfferBuilder()
+                .foodItemId(request.getFoodItemId())
+                .discountPercentage(request.getDiscountPercentage())
+                .description(request.getDescription())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .active(true)
+                .build();
+
+        return offerService.addOffer(offer)
+                .map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(OfferResponse.from(saved)));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<OfferResponse> update(@PathVariable int id,
+                                      @RequestBody @Validated OfferRequest request) {
+        logger.info("PUT /api/offers/{}", id);
+        Offer offer = new OfferBuilder()
+                .id(id)
+                .foodItemId(request.getFoodItemId())
+                .discountPercentage(request.getDiscountPercentage())
+                .description(request.getDescription())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .build();
+
+        return offerService.updateOffer(offer, request.getVersion()).map(OfferResponse::from);
+    }
+
+    @PostMapping("/{id}/deactivate")
+    public Mono<ResponseEntity<Void>> deactivate(@PathVariable int id,
+                                                 @RequestParam(value = "version", required = false) Integer version) {
+        logger.info("POST /api/offers/{}/deactivate", id);
+        return offerService.deactivateOffer(id, version)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable int id,
+                                             @RequestParam(value = "version", required = false) Integer version) {
+        logger.info("DELETE /api/offers/{}", id);
+        return offerService.deleteOffer(id, version)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    private static List<OfferResponse> toResponses(List<Offer> offers) {
+        return offers.stream()
+                .map(OfferResponse::from)
+                .collect(Collectors.toList());
+    }
+}
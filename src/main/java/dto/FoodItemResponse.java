@@ -1,5 +1,7 @@
 package dto;
 
+import model.FoodItem;
+
 public class FoodItemResponse {
 
     private int id;
@@ -7,6 +9,15 @@ public class FoodItemResponse {
     private double price;
     private String description;
 
+    public static FoodItemResponse from(FoodItem item) {
+        FoodItemResponse resp = new FoodItemResponse();
+        resp.setId(item.getId());
+        resp.setName(item.getName());
+        resp.setPrice(item.getPrice());
+        resp.setDescription(item.getDescription());
+        return resp;
+    }
+
     public int getId() {
         return id;
     }
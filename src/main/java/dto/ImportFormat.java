@@ -0,0 +1,22 @@
+package dto;
+
+import exception.ValidationException;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV;
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String type = contentType.toLowerCase();
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+                return NDJSON;
+            }
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+        }
+        throw new ValidationException("Unsupported import content type: " + contentType
+                + " (use application/x-ndjson or text/csv)");
+    }
+}
@@ -0,0 +1,81 @@
+package dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a streaming import. Only the first {@code maxErrors} rejected
+ * rows are listed so the report stays small for very large files.
+ */
+public class ImportReport {
+
+    private final ImportFormat format;
+    private final int maxErrors;
+    private long processed;
+    private long imported;
+    private long rejected;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public ImportReport(ImportFormat format, int maxErrors) {
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    public void rowProcessed() {
+        processed++;
+    }
+
+    public void reject(long line, String message) {
+        rejected++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return rejected > errors.size();
+    }
+
+    public static class RowError {
+
+        private final long line;
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -23,6 +23,11 @@ public class OfferRequest {
     @NotNull
     private LocalDate endDate;
 
+    /**
+     * Version the client last read, checked on update; null overwrites unconditionally.
+     */
+    private Integer version;
+
     public int getFoodItemId() {
         return foodItemId;
     }
@@ -62,5 +67,12 @@ public class OfferRequest {
     public void setEndDate(LocalDate endDate) {
         this.endDate = endDate;
     }
-}
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+}
@@ -1,5 +1,7 @@
 package dto;
 
+import model.Offer;
+
 import java.time.LocalDate;
 
 public class OfferResponse {
@@ -11,6 +13,20 @@ public class OfferResponse {
     private LocalDate startDate;
     private LocalDate endDate;
     private boolean active;
+    private int version;
+
+    public static OfferResponse from(Offer offer) {
+        OfferResponse resp = new OfferResponse();
+        resp.setId(offer.getId());
+        resp.setFoodItemId(offer.getFoodItemId());
+        resp.setDiscountPercentage(offer.getDiscountPercentage());
+        resp.setDescription(offer.getDescription());
+        resp.setStartDate(offer.getStartDate());
+        resp.setEndDate(offer.getEndDate());
+        resp.setActive(offer.isActive());
+        resp.setVersion(offer.getVersion());
+        return resp;
+    }
 
     public int getId() {
         return id;
@@ -67,5 +83,12 @@ public class OfferResponse {
     public void setActive(boolean active) {
         this.active = active;
     }
-}
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,28 @@
+package dto;
+
+import jakarta.validation.constraints.Min;
+
+public class QuoteLineRequest {
+
+    @Min(1)
+    private int foodItemId;
+
+    @Min(1)
+    private int quantity;
+
+    public int getFoodItemId() {
+        return foodItemId;
+    }
+
+    public void setFoodItemId(int foodItemId) {
+        this.foodItemId = foodItemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,22 @@
+package dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class QuoteRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid QuoteLineRequest> lines;
+
+    public List<QuoteLineRequest> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<QuoteLineRequest> lines) {
+        this.lines = lines;
+    }
+}
@@ -0,0 +1,43 @@
+package dto;
+
+import java.util.List;
+
+public class QuoteResponse {
+
+    private List<QuoteLineResponse> lines;
+    private double totalOriginal;
+    private double totalDiscount;
+    private double totalEffective;
+
+    public List<QuoteLineResponse> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<QuoteLineResponse> lines) {
+        this.lines = lines;
+    }
+
+    public double getTotalOriginal() {
+        return totalOriginal;
+    }
+
+    public void setTotalOriginal(double totalOriginal) {
+        this.totalOriginal = totalOriginal;
+    }
+
+    public double getTotalDiscount() {
+        return totalDiscount;
+    }
+
+    public void setTotalDiscount(double totalDiscount) {
+        this.totalDiscount = totalDiscount;
+    }
+
+    public double getTotalEffective() {
+        return totalEffective;
+    }
+
+    public void setTotalEffective(double totalEffective) {
+        this.totalEffective = totalEffective;
+    }
+}
@@ -0,0 +1,18 @@
+package exception;
+
+/**
+ * A conditional write found the row at a different version than the client expected.
+ */
+public class ConflictException extends RuntimeException {
+
+    private final int currentVersion;
+
+    public ConflictException(String message, int currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public int getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -1,11 +1,16 @@
 package exception;
 
 import logging.LoggerService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -18,13 +23,58 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({FoodItemNotValidException.class, ValidationException.class})
     public ResponseEntity<Map<String, Object>> handleDomainValidation(RuntimeException ex) {
-        logger.error("Domain validation error", ex);
+        logger.warn("Domain validation error", ex);
         return buildError(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleNotFound(NotFoundException ex) {
+        logger.warn("Not found: {}", ex.getMessage());
+        return buildError(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(ConflictException ex) {
+        logger.warn("Write conflict: {}", ex.getMessage());
+        ResponseEntity<Map<String, Object>> response = buildError(HttpStatus.CONFLICT, ex.getMessage());
+        response.getBody().put("currentVersion", ex.getCurrentVersion());
+        return response;
+    }
+
+    @ExceptionHandler(RepositoryException.class)
+    public ResponseEntity<Map<String, Object>> handleRepository(RepositoryException ex) {
+        if (!ex.isConnectionUnavailable()) {
+            return handleGeneric(ex);
+        }
+        logger.warn("No database connection available: {}", ex.getMessage());
+        ResponseEntity<Map<String, Object>> busy = buildError(HttpStatus.SERVICE_UNAVAILABLE, "Database busy, retry later");
+        return ResponseEntity.status(busy.getStatusCode()).header(HttpHeaders.RETRY_AFTER, "1").body(busy.getBody());
+    }
+
+    /**
+     * A catalog stream ran past {@code db.stream.max-duration-ms}. The body is
+     * usually under way by then, in which case the status cannot change and
+     * the client just sees the response cut off.
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleAsyncTimeout(AsyncRequestTimeoutException ex) {
+        logger.warn("Stream cut off after the async request timeout");
+        return buildError(HttpStatus.SERVICE_UNAVAILABLE, "Stream took too long");
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleBeanValidation(MethodArgumentNotValidException ex) {
-        logger.error("Bean validation error", ex);
+        logger.warn("Bean validation error", ex);
+        String message = ex.getBindingResult().getFieldErrors().stream()
+                .findFirst()
+                .map(err -> err.getField() + " " + err.getDefaultMessage())
+                .orElse("Validation failed");
+        return buildError(HttpStatus.BAD_REQUEST, message);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleReactiveBeanValidation(WebExchangeBindException ex) {
+        logger.warn("Bean validation error", ex);
         String message = ex.getBindingResult().getFieldErrors().stream()
                 .findFirst()
                 .map(err -> err.getField() + " " + err.getDefaultMessage())
@@ -32,6 +82,19 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.BAD_REQUEST, message);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleMethodValidation(HandlerMethodValidationException ex) {
+        logger.warn("Method validation error", ex);
+        String message = ex.getAllValidationResults().stream()
+                .flatMap(result -> result.getResolvableErrors().stream())
+                .findFirst()
+                .map(err -> err instanceof FieldError fieldError
+                        ? fieldError.getField() + " " + fieldError.getDefaultMessage()
+                        : err.getDefaultMessage())
+                .orElse("Validation failed");
+        return buildError(HttpStatus.BAD_REQUEST, message);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
         logger.error("Unexpected error", ex);
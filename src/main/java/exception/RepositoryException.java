@@ -0,0 +1,53 @@
+package exception;
+
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+public class RepositoryException extends RuntimeException {
+    public RepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * The database rejected the data itself (foreign key, check or unique
+     * constraint, SQLState class 23) rather than failing to run the statement.
+     */
+    public boolean isConstraintViolation() {
+        for (Throwable t = getCause(); t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("23")) {
+                return true;
+            }
+            if (t instanceof R2dbcDataIntegrityViolationException || t instanceof DataIntegrityViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * No connection could be had in time (pool exhausted), as opposed to a
+     * statement failing; worth retrying shortly.
+     */
+    public boolean isConnectionUnavailable() {
+        for (Throwable t = getCause(); t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The driver's own message, without the wrapping context.
+     */
+    public String getRootMessage() {
+        Throwable root = this;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
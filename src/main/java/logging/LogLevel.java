@@ -0,0 +1,16 @@
+package logging;
+
+/**
+ * Record severities, lowest first. {@code OFF} is only meaningful as a threshold.
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    boolean isAtLeast(LogLevel threshold) {
+        return compareTo(threshold) >= 0;
+    }
+}
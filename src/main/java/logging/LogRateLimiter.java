@@ -0,0 +1,101 @@
+package logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-call-site limit on WARN and ERROR records: each site may log
+ * {@code permitsPerSecond} records per one-second window. Beyond that, every
+ * {@code sampleRate}-th record still gets through and the rest are counted.
+ * The writer thread turns the counts into one summary line per site.
+ *
+ * A site is identified by its message template or lambda class, both of
+ * which are fixed per call site, so the number of sites is bounded by the
+ * code; past {@link #MAX_SITES} everything shares one overflow site anyway.
+ */
+final class LogRateLimiter {
+
+    private static final int MAX_SITES = 1024;
+    private static final String OVERFLOW_SITE = "(other call sites)";
+    private static final long WINDOW_MILLIS = 1000;
+
+    interface SummarySink {
+        void accept(String site, long suppressed);
+    }
+
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final LongAdder totalSuppressed = new LongAdder();
+    private volatile int permitsPerSecond;
+    private final int sampleRate;
+
+    LogRateLimiter(int permitsPerSecond, int sampleRate) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.sampleRate = Math.max(0, sampleRate);
+    }
+
+    boolean tryAcquire(String siteKey, long nowMillis) {
+        int permits = permitsPerSecond;
+        if (permits <= 0) {
+            return true;
+        }
+        Site site = site(siteKey);
+        long windowStart = site.windowStart.get();
+        if (nowMillis - windowStart >= WINDOW_MILLIS && site.windowStart.compareAndSet(windowStart, nowMillis)) {
+            site.count.set(0);
+        }
+        if (site.count.incrementAndGet() <= permits) {
+            return true;
+        }
+        if (sampleRate > 0 && site.overLimit.getAndIncrement() % sampleRate == 0) {
+            return true;
+        }
+        site.suppressed.increment();
+        totalSuppressed.increment();
+        return false;
+    }
+
+    /**
+     * Reports and resets the suppressed count of every site that has one.
+     */
+    void drainSuppressed(SummarySink sink) {
+        sites.forEach((key, site) -> {
+            long suppressed = site.suppressed.sumThenReset();
+            if (suppressed > 0) {
+                sink.accept(key, suppressed);
+            }
+        });
+    }
+
+    long getTotalSuppressed() {
+        return totalSuppressed.sum();
+    }
+
+    int getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    void setPermitsPerSecond(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    private Site site(String key) {
+        Site site = sites.get(key);
+        if (site != null) {
+            return site;
+        }
+        if (sites.size() >= MAX_SITES) {
+            key = OVERFLOW_SITE;
+        }
+        return sites.computeIfAbsent(key, k -> new Site());
+    }
+
+    private static final class Site {
+        private final AtomicLong windowStart = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong overLimit = new AtomicLong();
+        private final LongAdder suppressed = new LongAdder();
+    }
+}
@@ -0,0 +1,98 @@
+package logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer of log records
+ * (Vyukov's array queue). Producers claim a slot with one CAS on the tail and
+ * publish it by advancing the slot's sequence; there are no locks and no
+ * allocation per record. Only the writer thread may call {@link #drain}.
+ */
+final class LogRingBuffer {
+
+    interface RecordSink {
+        void accept(long timestampMillis, String level, String message);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final String[] levels;
+    private final String[] messages;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    LogRingBuffer(int requestedCapacity) {
+        int size = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.timestamps = new long[size];
+        this.levels = new String[size];
+        this.messages = new String[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(long timestampMillis, String level, String message) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    timestamps[index] = timestampMillis;
+                    levels[index] = level;
+                    messages[index] = message;
+                    // Volatile write publishes the fields above to the writer.
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code max} published records to the sink, oldest first.
+     */
+    int drain(RecordSink sink, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            sink.accept(timestamps[index], levels[index], messages[index]);
+            levels[index] = null;
+            messages[index] = null;
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    /**
+     * Approximate number of records waiting; exact only when producers are idle.
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
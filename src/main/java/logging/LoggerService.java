@@ -1,16 +1,95 @@
 package logging;
 
+import config.AppConfigManager;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
+/**
+ * Asynchronous logger. {@code info} and {@code error} only put the record into
+ * a lock-free ring buffer; a single daemon thread formats records in batches
+ * and writes each batch to standard output or a file with one call, so
+ * request threads never contend on the output stream.
+ *
+ * When the buffer is full the {@link OverflowPolicy} decides whether records
+ * are dropped, sampled or wait for space. On JVM shutdown the writer drains
+ * what is left; anything logged after that is written synchronously.
+ *
+ * Records below the runtime threshold ({@link #setLevel}) cost one volatile
+ * read: the {@code {}}-pattern and {@link Supplier} variants format nothing
+ * unless the level is enabled. WARN and ERROR records are rate-limited per
+ * call site ({@link LogRateLimiter}); suppressed counts are reported once a
+ * second.
+ */
 public final class LoggerService {
 
     private static final DateTimeFormatter FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SUMMARY_INTERVAL_MILLIS = 1000;
 
     private static volatile LoggerService instance;
 
+    private final LogRingBuffer buffer;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final int sampleThreshold;
+    private final Writer fileWriter;
+    private final Thread writerThread;
+    private final LogRateLimiter rateLimiter;
+    private volatile LogLevel level;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LongAdder written = new LongAdder();
+
+    private volatile boolean stopping;
+    private volatile boolean stopped;
+    /** Set while the writer is about to park or parked; producers then wake it. */
+    private volatile boolean writerIdle;
+
+    // Writer thread only.
+    private final StringBuilder batch = new StringBuilder(16 * 1024);
+    private final LogRingBuffer.RecordSink sink = this::append;
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedTimestamp;
+    private long reportedDropped;
+    private long reportedSampledOut;
+    private long nextSummaryAt;
+
     private LoggerService() {
+        AppConfigManager config = AppConfigManager.getInstance();
+        this.buffer = new LogRingBuffer(config.getLoggingBufferSize());
+        this.batchSize = Math.max(1, config.getLoggingBatchSize());
+        this.overflowPolicy = OverflowPolicy.valueOf(config.getLoggingOverflowPolicy().trim().toUpperCase(Locale.ROOT));
+        this.sampleRate = Math.max(1, config.getLoggingSampleRate());
+        this.sampleThreshold = buffer.capacity() / 2;
+        this.fileWriter = openFile(config.getLoggingFile());
+        this.level = LogLevel.valueOf(config.getLoggingLevel().trim().toUpperCase(Locale.ROOT));
+        this.rateLimiter = new LogRateLimiter(config.getLoggingErrorRateLimitPerSecond(),
+                config.getLoggingErrorSampleRate());
+
+        this.writerThread = new Thread(this::runWriter, "logger-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "logger-shutdown"));
     }
 
     public static LoggerService getInstance() {
@@ -24,17 +103,368 @@ public final class LoggerService {
         return instance;
     }
 
+    public boolean isEnabled(LogLevel recordLevel) {
+        return recordLevel != LogLevel.OFF && recordLevel.isAtLeast(level);
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    public int getErrorRateLimitPerSecond() {
+        return rateLimiter.getPermitsPerSecond();
+    }
+
+    /**
+     * 0 disables the per-call-site limit.
+     */
+    public void setErrorRateLimitPerSecond(int permitsPerSecond) {
+        rateLimiter.setPermitsPerSecond(permitsPerSecond);
+    }
+
+    public void debug(String message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            enqueue(LogLevel.DEBUG, message);
+        }
+    }
+
+    public void debug(String pattern, Object arg) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            enqueue(LogLevel.DEBUG, format(pattern, arg));
+        }
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            enqueue(LogLevel.DEBUG, message.get());
+        }
+    }
+
     public void info(String message) {
-        log("INFO", message);
+        if (isEnabled(LogLevel.INFO)) {
+            enqueue(LogLevel.INFO, message);
+        }
+    }
+
+    public void info(String pattern, Object arg) {
+        if (isEnabled(LogLevel.INFO)) {
+            enqueue(LogLevel.INFO, format(pattern, arg));
+        }
+    }
+
+    public void info(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.INFO)) {
+            enqueue(LogLevel.INFO, format(pattern, arg1, arg2));
+        }
+    }
+
+    public void info(String pattern, Object... args) {
+        if (isEnabled(LogLevel.INFO)) {
+            enqueue(LogLevel.INFO, format(pattern, args));
+        }
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            enqueue(LogLevel.INFO, message.get());
+        }
+    }
+
+    public void warn(String message) {
+        if (admit(LogLevel.WARN, message)) {
+            enqueue(LogLevel.WARN, message);
+        }
+    }
+
+    public void warn(String pattern, Object arg) {
+        if (admit(LogLevel.WARN, pattern)) {
+            enqueue(LogLevel.WARN, format(pattern, arg));
+        }
+    }
+
+    public void warn(String pattern, Object... args) {
+        if (admit(LogLevel.WARN, pattern)) {
+            enqueue(LogLevel.WARN, format(pattern, args));
+        }
+    }
+
+    public void warn(Supplier<String> message) {
+        if (admit(LogLevel.WARN, message.getClass().getName())) {
+            enqueue(LogLevel.WARN, message.get());
+        }
+    }
+
+    public void warn(String message, Throwable t) {
+        if (admit(LogLevel.WARN, message)) {
+            enqueue(LogLevel.WARN, message + " - " + t.getMessage());
+        }
     }
 
     public void error(String message, Throwable t) {
-        log("ERROR", message + " - " + t.getMessage());
+        if (admit(LogLevel.ERROR, message)) {
+            enqueue(LogLevel.ERROR, message + " - " + t.getMessage());
+        }
+    }
+
+    public void error(String pattern, Object arg, Throwable t) {
+        if (admit(LogLevel.ERROR, pattern)) {
+            enqueue(LogLevel.ERROR, format(pattern, arg) + " - " + t.getMessage());
+        }
+    }
+
+    public void error(String pattern, Object arg1, Object arg2, Throwable t) {
+        if (admit(LogLevel.ERROR, pattern)) {
+            enqueue(LogLevel.ERROR, format(pattern, arg1, arg2) + " - " + t.getMessage());
+        }
+    }
+
+    public void error(Supplier<String> message, Throwable t) {
+        if (admit(LogLevel.ERROR, message.getClass().getName())) {
+            enqueue(LogLevel.ERROR, message.get() + " - " + t.getMessage());
+        }
+    }
+
+    /**
+     * Level check plus the per-call-site rate limit, both before any formatting.
+     */
+    private boolean admit(LogLevel recordLevel, String site) {
+        return isEnabled(recordLevel) && rateLimiter.tryAcquire(site, System.currentTimeMillis());
     }
 
-    private void log(String level, String message) {
-        String ts = LocalDateTime.now().format(FORMATTER);
+    /**
+     * Replaces each {@code {}} in the pattern with the next argument.
+     */
+    static String format(String pattern, Object... args) {
+        StringBuilder out = new StringBuilder(pattern.length() + 16 * args.length);
+        int from = 0;
+        for (Object arg : args) {
+            int at = pattern.indexOf("{}", from);
+            if (at < 0) {
+                break;
+            }
+            out.append(pattern, from, at).append(arg);
+            from = at + 2;
+        }
+        return out.append(pattern, from, pattern.length()).toString();
+    }
+
+    public LoggingStats stats() {
+        return new LoggingStats(level, rateLimiter.getPermitsPerSecond(), getWrittenCount(), getDroppedCount(),
+                getSampledOutCount(), getSuppressedCount(), getPendingCount());
+    }
+
+    /**
+     * Records lost to a full buffer since startup.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * DEBUG/INFO records skipped by the SAMPLE policy since startup.
+     */
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /**
+     * WARN/ERROR records held back by the per-call-site rate limit since startup.
+     */
+    public long getSuppressedCount() {
+        return rateLimiter.getTotalSuppressed();
+    }
+
+    /**
+     * Records waiting for the writer thread.
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Stops the writer after it has drained the buffer; later records are
+     * written synchronously. Runs from a shutdown hook.
+     */
+    public void shutdown() {
+        stopping = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(LogLevel recordLevel, String message) {
+        long now = System.currentTimeMillis();
+        String level = recordLevel.name();
+        if (stopped) {
+            writeDirect(now, level, message);
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.SAMPLE && !recordLevel.isAtLeast(LogLevel.WARN)
+                && buffer.size() >= sampleThreshold
+                && sampleCounter.getAndIncrement() % sampleRate != 0) {
+            sampledOut.increment();
+            return;
+        }
+        if (buffer.offer(now, level, message)) {
+            wakeWriter();
+            return;
+        }
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+            dropped.increment();
+            return;
+        }
+        while (!buffer.offer(now, level, message)) {
+            if (stopped) {
+                writeDirect(now, level, message);
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        wakeWriter();
+    }
+
+    /**
+     * Producers pay for an unpark only while the writer is idle, not per record under load.
+     */
+    private void wakeWriter() {
+        if (writerIdle) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private void runWriter() {
+        try {
+            while (true) {
+                int drained = buffer.drain(sink, batchSize);
+                long now = System.currentTimeMillis();
+                if (now >= nextSummaryAt) {
+                    nextSummaryAt = now + SUMMARY_INTERVAL_MILLIS;
+                    rateLimiter.drainSuppressed(this::appendSuppressed);
+                }
+                if (drained > 0 || batch.length() > 0) {
+                    reportLosses();
+                    flushBatch();
+                    continue;
+                }
+                if (stopping) {
+                    break;
+                }
+                // Publish the flag before re-checking the buffer: a producer either sees
+                // it and unparks us, or its record is visible to the check below.
+                writerIdle = true;
+                if (buffer.size() == 0 && !stopping) {
+                    // Wakes at least once a second for the suppressed-record summary.
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(
+                            Math.max(1, nextSummaryAt - System.currentTimeMillis())));
+                }
+                writerIdle = false;
+            }
+        } finally {
+            stopped = true;
+            // Producers that raced with the flag above may still have published records.
+            while (buffer.drain(sink, batchSize) > 0) {
+                flushBatch();
+            }
+            rateLimiter.drainSuppressed(this::appendSuppressed);
+            reportLosses();
+            flushBatch();
+            closeFile();
+        }
+    }
+
+    private void append(long timestampMillis, String level, String message) {
+        batch.append('[').append(timestamp(timestampMillis)).append("] [")
+                .append(level).append("] ").append(message).append(LINE_SEPARATOR);
+        written.increment();
+    }
+
+    private void appendSuppressed(String site, long suppressed) {
+        append(System.currentTimeMillis(), "WARN", "Suppressed " + suppressed
+                + " similar records in the last second: " + site);
+    }
+
+    private void reportLosses() {
+        long lost = dropped.sum() - reportedDropped;
+        if (lost > 0) {
+            reportedDropped += lost;
+            append(System.currentTimeMillis(), "WARN", "Dropped " + lost + " log records: buffer full");
+        }
+        long sampled = sampledOut.sum() - reportedSampledOut;
+        if (sampled > 0) {
+            reportedSampledOut += sampled;
+            append(System.currentTimeMillis(), "WARN", "Sampled out " + sampled + " INFO records under load");
+        }
+    }
+
+    /**
+     * Formats at most once per second; the writer thread is the only caller.
+     */
+    private String timestamp(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTimestamp = FORMATTER.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis),
+                    ZoneId.systemDefault()));
+        }
+        return cachedTimestamp;
+    }
+
+    private void flushBatch() {
+        if (batch.length() == 0) {
+            return;
+        }
+        if (fileWriter != null) {
+            try {
+                fileWriter.append(batch);
+                fileWriter.flush();
+            } catch (IOException e) {
+                System.err.println("Could not write log file: " + e.getMessage());
+                System.out.print(batch);
+            }
+        } else {
+            System.out.print(batch);
+        }
+        batch.setLength(0);
+    }
+
+    private synchronized void writeDirect(long timestampMillis, String level, String message) {
+        String ts = FORMATTER.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis),
+                ZoneId.systemDefault()));
         System.out.printf("[%s] [%s] %s%n", ts, level, message);
     }
-}
 
+    private static Writer openFile(String file) {
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        try {
+            return Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not open log file " + file + ", logging to stdout: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeFile() {
+        if (fileWriter == null) {
+            return;
+        }
+        try {
+            fileWriter.close();
+        } catch (IOException e) {
+            System.err.println("Could not close log file: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package logging;
+
+/**
+ * Immutable snapshot of the logger's threshold and counters since startup.
+ */
+public class LoggingStats {
+
+    private final LogLevel level;
+    private final int errorRateLimitPerSecond;
+    private final long written;
+    private final long dropped;
+    private final long sampledOut;
+    private final long suppressed;
+    private final int pending;
+
+    public LoggingStats(LogLevel level, int errorRateLimitPerSecond, long written, long dropped,
+                        long sampledOut, long suppressed, int pending) {
+        this.level = level;
+        this.errorRateLimitPerSecond = errorRateLimitPerSecond;
+        this.written = written;
+        this.dropped = dropped;
+        this.sampledOut = sampledOut;
+        this.suppressed = suppressed;
+        this.pending = pending;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public int getErrorRateLimitPerSecond() {
+        return errorRateLimitPerSecond;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getSampledOut() {
+        return sampledOut;
+    }
+
+    public long getSuppressed() {
+        return suppressed;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+}
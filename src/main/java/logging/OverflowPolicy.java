@@ -0,0 +1,17 @@
+package logging;
+
+/**
+ * What {@link LoggerService} does when records arrive faster than the writer
+ * thread can drain them.
+ */
+public enum OverflowPolicy {
+    /** Discard records that do not fit; the writer reports how many were lost. */
+    DROP,
+    /** Make the logging thread wait for free space; nothing is lost. */
+    BLOCK,
+    /**
+     * Once the buffer is half full, keep only every n-th INFO record; errors are
+     * never sampled. Records that still do not fit are dropped.
+     */
+    SAMPLE
+}
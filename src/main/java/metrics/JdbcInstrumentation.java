@@ -0,0 +1,272 @@
+package metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wraps a pooled {@link Connection} in JDK proxies that time statement
+ * execution and result set iteration separately, count rows, remember bind
+ * parameters and report each execution to a {@link SqlStatsRegistry}.
+ *
+ * A query is reported once its result set (or statement, or connection) is
+ * closed, so the time the caller spends in {@code next()} is included.
+ * {@code unwrap} is forwarded, so driver-specific APIs such as COPY still
+ * work, but they bypass the timing.
+ */
+public final class JdbcInstrumentation {
+
+    private static final int MAX_TRACKED_PARAMS = 64;
+
+    private JdbcInstrumentation() {
+    }
+
+    public static Connection wrap(Connection connection, SqlStatsRegistry registry) {
+        return proxy(Connection.class, new ConnectionHandler(connection, registry));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(JdbcInstrumentation.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Handles the methods every proxy must answer itself; null means "forward".
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> args != null && args.length == 1 ? proxy == args[0] : null;
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final SqlStatsRegistry registry;
+        private final List<StatementHandler> statements = new ArrayList<>();
+
+        ConnectionHandler(Connection target, SqlStatsRegistry registry) {
+            this.target = target;
+            this.registry = registry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object own = identity(proxy, method, args);
+            if (own != null) {
+                return own;
+            }
+            switch (method.getName()) {
+                case "prepareStatement" -> {
+                    PreparedStatement ps = (PreparedStatement) forward(target, method, args);
+                    return track(PreparedStatement.class, ps, (String) args[0]);
+                }
+                case "createStatement" -> {
+                    Statement stmt = (Statement) forward(target, method, args);
+                    return track(Statement.class, stmt, null);
+                }
+                case "close" -> {
+                    for (StatementHandler statement : statements) {
+                        statement.finishPending();
+                    }
+                    statements.clear();
+                }
+                default -> {
+                }
+            }
+            return forward(target, method, args);
+        }
+
+        private <T extends Statement> T track(Class<T> type, T statement, String sql) {
+            StatementHandler handler = new StatementHandler(statement, sql, registry);
+            statements.add(handler);
+            return proxy(type, handler);
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final SqlStatsRegistry registry;
+        private Object[] params = new Object[0];
+        private Execution pending;
+
+        StatementHandler(Statement target, String sql, SqlStatsRegistry registry) {
+            this.target = target;
+            this.sql = sql;
+            this.registry = registry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object own = identity(proxy, method, args);
+            if (own != null) {
+                return own;
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && method.getDeclaringClass() == PreparedStatement.class) {
+                bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                params = new Object[0];
+            } else if (name.equals("getResultSet")) {
+                ResultSet rs = (ResultSet) forward(target, method, args);
+                return rs == null || pending == null ? rs : proxy(ResultSet.class, new ResultSetHandler(rs, pending));
+            } else if (name.equals("close")) {
+                finishPending();
+            }
+            return forward(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finishPending();
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            if (statementSql == null) {
+                // Statement.executeBatch after addBatch(String): no single text to attribute it to.
+                return forward(target, method, args);
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = forward(target, method, args);
+            } catch (SQLException e) {
+                registry.recordFailure(statementSql, System.nanoTime() - start, params.clone(), e);
+                throw e;
+            }
+            long executeNanos = System.nanoTime() - start;
+            // Copies: setX calls on a reused statement or the next batch row rewrite params in place.
+            if (result instanceof ResultSet rs) {
+                pending = new Execution(registry, statementSql, executeNanos, params.clone());
+                return proxy(ResultSet.class, new ResultSetHandler(rs, pending));
+            }
+            if (result instanceof Boolean hasResultSet && hasResultSet) {
+                pending = new Execution(registry, statementSql, executeNanos, params.clone());
+                return result;
+            }
+            registry.record(statementSql, executeNanos, 0, rowsOf(result), params.clone());
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1 || index > MAX_TRACKED_PARAMS) {
+                return;
+            }
+            if (index > params.length) {
+                params = Arrays.copyOf(params, index);
+            }
+            params[index - 1] = value;
+        }
+
+        void finishPending() {
+            if (pending != null) {
+                pending.finish();
+                pending = null;
+            }
+        }
+
+        private static long rowsOf(Object result) {
+            if (result instanceof Number count) {
+                return Math.max(0, count.longValue());
+            }
+            long rows = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    rows += Math.max(0, count);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    rows += Math.max(0, count);
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final Execution execution;
+
+        ResultSetHandler(ResultSet target, Execution execution) {
+            this.target = target;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object own = identity(proxy, method, args);
+            if (own != null) {
+                return own;
+            }
+            switch (method.getName()) {
+                case "next" -> {
+                    long start = System.nanoTime();
+                    boolean hasRow = (Boolean) forward(target, method, args);
+                    execution.fetched(System.nanoTime() - start, hasRow);
+                    return hasRow;
+                }
+                case "close" -> execution.finish();
+                default -> {
+                }
+            }
+            return forward(target, method, args);
+        }
+    }
+
+    /**
+     * A query whose rows are still being read. Reported exactly once.
+     */
+    private static final class Execution {
+
+        private final SqlStatsRegistry registry;
+        private final String sql;
+        private final long executeNanos;
+        private final Object[] params;
+        private long fetchNanos;
+        private long rows;
+        private boolean finished;
+
+        Execution(SqlStatsRegistry registry, String sql, long executeNanos, Object[] params) {
+            this.registry = registry;
+            this.sql = sql;
+            this.executeNanos = executeNanos;
+            this.params = params;
+        }
+
+        void fetched(long nanos, boolean hasRow) {
+            fetchNanos += nanos;
+            if (hasRow) {
+                rows++;
+            }
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                registry.record(sql, executeNanos, fetchNanos, rows, params);
+            }
+        }
+    }
+}
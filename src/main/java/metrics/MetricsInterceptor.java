@@ -0,0 +1,41 @@
+package metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times every handled request and records it against its route pattern.
+ */
+public class MetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = MetricsInterceptor.class.getName() + ".start";
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final MetricsRegistry registry;
+
+    public MetricsInterceptor(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startNanos)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMATCHED;
+        // An exception that escaped every handler still ends up as a 500 for the client.
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        registry.record(request.getMethod(), uri, status, System.nanoTime() - startNanos);
+    }
+}
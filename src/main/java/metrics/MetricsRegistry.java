@@ -0,0 +1,68 @@
+package metrics;
+
+import cache.InMemoryCacheManager;
+import logging.LoggerService;
+import service.WriteBehindStats;
+import utils.DatabaseConnection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Singleton holding per-route request metrics. Routes are keyed by URI
+ * pattern ({@code /api/food-items/{id}}), not the raw path, so the number of
+ * entries is bounded by the controllers.
+ */
+public final class MetricsRegistry {
+
+    private static volatile MetricsRegistry instance;
+
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private volatile Supplier<WriteBehindStats> writeBehindStats;
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void record(String method, String uri, int status, long elapsedNanos) {
+        RouteMetrics route = routes.get(method + ' ' + uri);
+        if (route == null) {
+            route = routes.computeIfAbsent(method + ' ' + uri, key -> new RouteMetrics(method, uri));
+        }
+        route.record(status, elapsedNanos);
+    }
+
+    /**
+     * Adds the price write-behind buffer to snapshots; it only exists when enabled.
+     */
+    public void registerWriteBehind(Supplier<WriteBehindStats> stats) {
+        this.writeBehindStats = stats;
+    }
+
+    public MetricsSnapshot snapshot() {
+        double uptimeSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        List<RouteStats> stats = new ArrayList<>(routes.size());
+        for (RouteMetrics route : routes.values()) {
+            stats.add(route.snapshot(uptimeSeconds));
+        }
+        stats.sort(Comparator.comparing(RouteStats::getUri).thenComparing(RouteStats::getMethod));
+        return new MetricsSnapshot(uptimeSeconds, stats, InMemoryCacheManager.getInstance().stats(),
+                DatabaseConnection.getPoolStats(), LoggerService.getInstance().stats(),
+                writeBehindStats != null ? writeBehindStats.get() : null);
+    }
+}
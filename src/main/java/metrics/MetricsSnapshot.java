@@ -0,0 +1,59 @@
+package metrics;
+
+import cache.CacheStats;
+import logging.LoggingStats;
+import service.WriteBehindStats;
+import utils.PoolStats;
+
+import java.util.List;
+
+/**
+ * Everything {@code /api/metrics} reports: per-route stats plus cache, pool
+ * and logger gauges, and the price write-behind buffer when it is enabled.
+ */
+public class MetricsSnapshot {
+
+    private final double uptimeSeconds;
+    private final List<RouteStats> routes;
+    private final CacheStats cache;
+    private final PoolStats pool;
+    private final LoggingStats logging;
+    private final WriteBehindStats writeBehind;
+
+    public MetricsSnapshot(double uptimeSeconds, List<RouteStats> routes, CacheStats cache,
+                           PoolStats pool, LoggingStats logging, WriteBehindStats writeBehind) {
+        this.uptimeSeconds = uptimeSeconds;
+        this.routes = routes;
+        this.cache = cache;
+        this.pool = pool;
+        this.logging = logging;
+        this.writeBehind = writeBehind;
+    }
+
+    public double getUptimeSeconds() {
+        return uptimeSeconds;
+    }
+
+    public List<RouteStats> getRoutes() {
+        return routes;
+    }
+
+    public CacheStats getCache() {
+        return cache;
+    }
+
+    public PoolStats getPool() {
+        return pool;
+    }
+
+    public LoggingStats getLogging() {
+        return logging;
+    }
+
+    /**
+     * Null when write-behind is disabled.
+     */
+    public WriteBehindStats getWriteBehind() {
+        return writeBehind;
+    }
+}
@@ -0,0 +1,40 @@
+package metrics;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link MetricsInterceptor}: times every API request
+ * and records it against its route pattern, skipping the metrics endpoint.
+ */
+@Component
+@Profile("reactive")
+public class MetricsWebFilter implements WebFilter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!path.startsWith("/api/") || path.equals("/api/metrics")) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    String uri = pattern != null ? pattern.toString() : UNMATCHED;
+                    HttpStatusCode code = exchange.getResponse().getStatusCode();
+                    int status = code != null ? code.value() : 200;
+                    registry.record(exchange.getRequest().getMethod().name(), uri, status, System.nanoTime() - start);
+                });
+    }
+}
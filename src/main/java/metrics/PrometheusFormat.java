@@ -0,0 +1,134 @@
+package metrics;
+
+import cache.CacheStats;
+import logging.LoggingStats;
+import service.WriteBehindStats;
+import utils.PoolStats;
+
+/**
+ * Renders a {@link MetricsSnapshot} in the Prometheus text exposition format
+ * (version 0.0.4). Latencies are exported in seconds as a summary.
+ */
+public final class PrometheusFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private PrometheusFormat() {
+    }
+
+    public static String write(MetricsSnapshot snapshot) {
+        StringBuilder out = new StringBuilder(4096);
+
+        header(out, "http_server_requests_total", "counter", "Requests handled, by route.");
+        for (RouteStats route : snapshot.getRoutes()) {
+            sample(out, "http_server_requests_total", labels(route, null), route.getRequests());
+        }
+        header(out, "http_server_errors_total", "counter", "Requests answered with 4xx or 5xx, by route.");
+        for (RouteStats route : snapshot.getRoutes()) {
+            sample(out, "http_server_errors_total", labels(route, "class=\"4xx\""), route.getClientErrors());
+            sample(out, "http_server_errors_total", labels(route, "class=\"5xx\""), route.getServerErrors());
+        }
+        header(out, "http_server_request_duration_seconds", "summary", "Request latency, by route.");
+        for (RouteStats route : snapshot.getRoutes()) {
+            for (double quantile : QUANTILES) {
+                sample(out, "http_server_request_duration_seconds",
+                        labels(route, "quantile=\"" + quantile + "\""), route.percentileMillis(quantile) / 1_000.0);
+            }
+            sample(out, "http_server_request_duration_seconds_sum", labels(route, null), route.getSumSeconds());
+            sample(out, "http_server_request_duration_seconds_count", labels(route, null), route.getRequests());
+        }
+        header(out, "http_server_request_duration_seconds_max", "gauge", "Slowest request since startup, by route.");
+        for (RouteStats route : snapshot.getRoutes()) {
+            sample(out, "http_server_request_duration_seconds_max", labels(route, null), route.getMaxMillis() / 1_000.0);
+        }
+
+        CacheStats cache = snapshot.getCache();
+        gauge(out, "cache_hit_ratio", "Cache hits / (hits + misses) since startup.", cache.getHitRatio());
+        counter(out, "cache_hits_total", "Cache hits.", cache.getHits());
+        counter(out, "cache_misses_total", "Cache misses.", cache.getMisses());
+        counter(out, "cache_evictions_total", "Entries evicted to stay under the weight limit.", cache.getEvictions());
+        gauge(out, "cache_size", "Entries currently cached.", cache.getSize());
+        gauge(out, "cache_weight", "Current cache weight.", cache.getWeight());
+
+        PoolStats pool = snapshot.getPool();
+        header(out, "db_pool_connections", "gauge", "JDBC pool connections, by state.");
+        sample(out, "db_pool_connections", "{state=\"active\"}", pool.getActive());
+        sample(out, "db_pool_connections", "{state=\"idle\"}", pool.getIdle());
+        gauge(out, "db_pool_max_size", "Configured maximum pool size.", pool.getMaxSize());
+        gauge(out, "db_pool_threads_awaiting", "Threads waiting for a connection.", pool.getThreadsAwaiting());
+        gauge(out, "db_pool_saturation", "Active connections / maximum pool size.", pool.getSaturation());
+
+        LoggingStats logging = snapshot.getLogging();
+        counter(out, "logger_records_written_total", "Log records written.", logging.getWritten());
+        counter(out, "logger_records_dropped_total", "Log records lost to a full buffer.", logging.getDropped());
+        counter(out, "logger_records_sampled_out_total", "Log records skipped by sampling.", logging.getSampledOut());
+        counter(out, "logger_records_suppressed_total", "WARN/ERROR records held back by the rate limit.",
+                logging.getSuppressed());
+        gauge(out, "logger_buffer_pending", "Log records waiting for the writer thread.", logging.getPending());
+
+        WriteBehindStats writeBehind = snapshot.getWriteBehind();
+        if (writeBehind != null) {
+            gauge(out, "price_write_behind_pending", "Prices buffered and not yet written.", writeBehind.getPending());
+            gauge(out, "price_write_behind_oldest_pending_seconds", "Age of the oldest unwritten price update.",
+                    writeBehind.getOldestPendingMillis() / 1_000.0);
+            counter(out, "price_write_behind_updates_total", "Price updates accepted.", writeBehind.getUpdates());
+            counter(out, "price_write_behind_coalesced_total", "Updates that replaced a pending price.",
+                    writeBehind.getCoalesced());
+            counter(out, "price_write_behind_flushed_total", "Prices written to the database.",
+                    writeBehind.getFlushedEntries());
+            counter(out, "price_write_behind_unmatched_total", "Flushed prices whose row no longer existed.",
+                    writeBehind.getUnmatchedEntries());
+            counter(out, "price_write_behind_flush_failures_total", "Flushes that failed and were retried.",
+                    writeBehind.getFailedFlushes());
+            header(out, "price_write_behind_flush_duration_seconds", "summary", "Time to write one batch.");
+            sample(out, "price_write_behind_flush_duration_seconds", "{quantile=\"0.99\"}",
+                    writeBehind.getFlushP99Millis() / 1_000.0);
+            sample(out, "price_write_behind_flush_duration_seconds_sum", "",
+                    writeBehind.getFlushMeanMillis() * writeBehind.getFlushCount() / 1_000.0);
+            sample(out, "price_write_behind_flush_duration_seconds_count", "", writeBehind.getFlushCount());
+        }
+
+        gauge(out, "process_uptime_seconds", "Seconds since the metrics registry started.", snapshot.getUptimeSeconds());
+        return out.toString();
+    }
+
+    private static void counter(StringBuilder out, String name, String help, double value) {
+        header(out, name, "counter", help);
+        sample(out, name, "", value);
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        header(out, name, "gauge", help);
+        sample(out, name, "", value);
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String labels(RouteStats route, String extra) {
+        StringBuilder labels = new StringBuilder("{method=\"").append(escape(route.getMethod()))
+                .append("\",uri=\"").append(escape(route.getUri())).append('"');
+        if (extra != null) {
+            labels.append(',').append(extra);
+        }
+        return labels.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,36 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram for one route (method + URI pattern).
+ */
+final class RouteMetrics {
+
+    private final String method;
+    private final String uri;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    RouteMetrics(String method, String uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    void record(int status, long elapsedNanos) {
+        requests.increment();
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+        latency.recordNanos(elapsedNanos);
+    }
+
+    RouteStats snapshot(double uptimeSeconds) {
+        return new RouteStats(method, uri, requests.sum(), clientErrors.sum(), serverErrors.sum(),
+                uptimeSeconds, latency.snapshot());
+    }
+}
@@ -0,0 +1,85 @@
+package metrics;
+
+/**
+ * Point-in-time view of one route. Latencies are in milliseconds.
+ */
+public class RouteStats {
+
+    private final String method;
+    private final String uri;
+    private final long requests;
+    private final long clientErrors;
+    private final long serverErrors;
+    private final double requestsPerSecond;
+    private final LatencyHistogram.Snapshot latency;
+
+    public RouteStats(String method, String uri, long requests, long clientErrors, long serverErrors,
+                      double uptimeSeconds, LatencyHistogram.Snapshot latency) {
+        this.method = method;
+        this.uri = uri;
+        this.requests = requests;
+        this.clientErrors = clientErrors;
+        this.serverErrors = serverErrors;
+        this.requestsPerSecond = uptimeSeconds <= 0 ? 0.0 : requests / uptimeSeconds;
+        this.latency = latency;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getClientErrors() {
+        return clientErrors;
+    }
+
+    public long getServerErrors() {
+        return serverErrors;
+    }
+
+    /**
+     * Average since startup; scrape the Prometheus counters for a windowed rate.
+     */
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public double getMeanMillis() {
+        return latency.getMeanMicros() / 1_000.0;
+    }
+
+    public double getP50Millis() {
+        return percentileMillis(0.5);
+    }
+
+    public double getP90Millis() {
+        return percentileMillis(0.9);
+    }
+
+    public double getP99Millis() {
+        return percentileMillis(0.99);
+    }
+
+    public double getP999Millis() {
+        return percentileMillis(0.999);
+    }
+
+    public double getMaxMillis() {
+        return latency.getMaxMicros() / 1_000.0;
+    }
+
+    double percentileMillis(double quantile) {
+        return latency.valueAtQuantile(quantile) / 1_000.0;
+    }
+
+    double getSumSeconds() {
+        return latency.getSumMicros() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,63 @@
+package metrics;
+
+import java.time.Instant;
+
+/**
+ * One execution over the slow-query threshold. The plan is filled in later
+ * by the EXPLAIN thread when {@code db.slow-query.explain} is on.
+ */
+public class SlowQuery {
+
+    private final Instant at;
+    private final String sql;
+    private final String params;
+    private final long rows;
+    private final double executeMillis;
+    private final double fetchMillis;
+    private volatile String plan;
+
+    public SlowQuery(Instant at, String sql, String params, long rows, long executeNanos, long fetchNanos) {
+        this.at = at;
+        this.sql = sql;
+        this.params = params;
+        this.rows = rows;
+        this.executeMillis = executeNanos / 1_000_000.0;
+        this.fetchMillis = fetchNanos / 1_000_000.0;
+    }
+
+    public Instant getAt() {
+        return at;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public String getParams() {
+        return params;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getTotalMillis() {
+        return executeMillis + fetchMillis;
+    }
+
+    public double getExecuteMillis() {
+        return executeMillis;
+    }
+
+    public double getFetchMillis() {
+        return fetchMillis;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,221 @@
+package metrics;
+
+import config.DatabaseConfigManager;
+import logging.LoggerService;
+import utils.DatabaseConnection;
+import utils.ThreadFactories;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Singleton holding per-SQL-template statement statistics and the most
+ * recent slow queries, fed by {@link JdbcInstrumentation}.
+ *
+ * Statements are grouped by template: literals become {@code ?} and runs of
+ * placeholders collapse, so {@code IN (?, ?, ?)} and {@code IN (?, ?)} share
+ * one entry. Executions over {@code db.slow-query.threshold-ms} are logged at
+ * WARN with their bind parameters; with {@code db.slow-query.explain} on,
+ * slow SELECTs are re-run once a minute per template under EXPLAIN ANALYZE
+ * on a separate connection and the plan is attached to the record.
+ */
+public final class SqlStatsRegistry {
+
+    private static final int MAX_TEMPLATES = 500;
+    private static final String OVERFLOW_TEMPLATE = "(other statements)";
+    private static final int MAX_PARAM_CHARS = 64;
+    private static final long EXPLAIN_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_RUN = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private static volatile SqlStatsRegistry instance;
+
+    private final Map<String, SqlTemplateMetrics> templates = new ConcurrentHashMap<>();
+    // Raw SQL -> template, so constant prepared SQL is normalised once.
+    private final Map<String, String> templateOf = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final LoggerService logger = LoggerService.getInstance();
+    private final long slowThresholdNanos;
+    private final int slowQueryHistory;
+    private final ThreadPoolExecutor explainExecutor;
+
+    private SqlStatsRegistry() {
+        DatabaseConfigManager config = DatabaseConfigManager.getInstance();
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowQueryThresholdMs());
+        this.slowQueryHistory = Math.max(1, config.getSlowQueryHistory());
+        this.explainExecutor = config.isSlowQueryExplain() ? createExplainExecutor() : null;
+    }
+
+    public static SqlStatsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (SqlStatsRegistry.class) {
+                if (instance == null) {
+                    instance = new SqlStatsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void record(String sql, long executeNanos, long fetchNanos, long rows, Object[] params) {
+        String template = templateOf(sql);
+        SqlTemplateMetrics metrics = metricsFor(template);
+        metrics.record(executeNanos, fetchNanos, rows);
+        if (executeNanos + fetchNanos >= slowThresholdNanos) {
+            slow(template, sql, metrics, executeNanos, fetchNanos, rows, params);
+        }
+    }
+
+    public void recordFailure(String sql, long executeNanos, Object[] params, SQLException e) {
+        metricsFor(templateOf(sql)).recordFailure(executeNanos);
+        logger.warn("SQL failed ({}): {} params={}", e.getSQLState(), sql, render(params));
+    }
+
+    /**
+     * Templates ordered by total time spent, most expensive first.
+     */
+    public List<SqlTemplateStats> templates() {
+        List<SqlTemplateStats> stats = new ArrayList<>(templates.size());
+        for (SqlTemplateMetrics metrics : templates.values()) {
+            stats.add(metrics.snapshot());
+        }
+        stats.sort(Comparator.comparingDouble(SqlTemplateStats::getTotalMillis).reversed());
+        return stats;
+    }
+
+    /**
+     * Most recent slow queries, newest first.
+     */
+    public List<SlowQuery> slowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    public void reset() {
+        templates.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    private void slow(String template, String sql, SqlTemplateMetrics metrics,
+                      long executeNanos, long fetchNanos, long rows, Object[] params) {
+        Object[] bound = Arrays.copyOf(params, params.length);
+        SlowQuery query = new SlowQuery(Instant.now(), sql, render(bound), rows, executeNanos, fetchNanos);
+        synchronized (slowQueries) {
+            slowQueries.addFirst(query);
+            while (slowQueries.size() > slowQueryHistory) {
+                slowQueries.removeLast();
+            }
+        }
+        logger.warn("Slow query ({} ms, {} rows): {} params={}",
+                TimeUnit.NANOSECONDS.toMillis(executeNanos + fetchNanos), rows, template, query.getParams());
+        if (explainExecutor != null && isSelect(sql) && metrics.claimExplain(System.nanoTime(), EXPLAIN_INTERVAL_NANOS)) {
+            explainExecutor.execute(() -> query.setPlan(explain(sql, bound)));
+        }
+    }
+
+    private SqlTemplateMetrics metricsFor(String template) {
+        SqlTemplateMetrics metrics = templates.get(template);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (templates.size() >= MAX_TEMPLATES) {
+            return templates.computeIfAbsent(OVERFLOW_TEMPLATE, SqlTemplateMetrics::new);
+        }
+        return templates.computeIfAbsent(template, SqlTemplateMetrics::new);
+    }
+
+    private String templateOf(String sql) {
+        String template = templateOf.get(sql);
+        if (template != null) {
+            return template;
+        }
+        template = normalize(sql);
+        // Ad-hoc Statement SQL with inlined values would grow this without bound.
+        if (templateOf.size() < MAX_TEMPLATES * 4) {
+            templateOf.put(sql, template);
+        }
+        return template;
+    }
+
+    static String normalize(String sql) {
+        String template = STRING_LITERAL.matcher(sql).replaceAll("?");
+        template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+        template = WHITESPACE.matcher(template).replaceAll(" ").trim();
+        return PLACEHOLDER_RUN.matcher(template).replaceAll("?, ...");
+    }
+
+    private static String render(Object[] params) {
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(i + 1).append('=');
+            Object value = params[i];
+            String text;
+            try {
+                text = value instanceof Array array ? String.valueOf(array.getArray() instanceof Object[] values
+                        ? Arrays.toString(values) : array) : String.valueOf(value);
+            } catch (SQLException e) {
+                text = "<array>";
+            }
+            if (text.length() > MAX_PARAM_CHARS) {
+                text = text.substring(0, MAX_PARAM_CHARS) + "...";
+            }
+            out.append(value instanceof CharSequence ? "'" + text + "'" : text);
+        }
+        return out.append(']').toString();
+    }
+
+    private static boolean isSelect(String sql) {
+        // EXPLAIN ANALYZE runs the statement, so only read-only queries are explained.
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private static String explain(String sql, Object[] params) {
+        try (Connection conn = DatabaseConnection.getUninstrumentedConnection();
+             PreparedStatement ps = conn.prepareStatement("EXPLAIN ANALYZE " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i] instanceof Array array ? array.getArray() : params[i]);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static ThreadPoolExecutor createExplainExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), ThreadFactories.background("sql-explain-"),
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+}
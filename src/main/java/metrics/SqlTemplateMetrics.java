@@ -0,0 +1,47 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram for one SQL template.
+ */
+final class SqlTemplateMetrics {
+
+    private final String sql;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder executeNanos = new LongAdder();
+    private final LongAdder fetchNanos = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    // System.nanoTime() of the last EXPLAIN, so one template is not explained over and over.
+    private final AtomicLong lastExplainNanos = new AtomicLong(Long.MIN_VALUE / 2);
+
+    SqlTemplateMetrics(String sql) {
+        this.sql = sql;
+    }
+
+    void record(long executeNanos, long fetchNanos, long rows) {
+        executions.increment();
+        this.rows.add(rows);
+        this.executeNanos.add(executeNanos);
+        this.fetchNanos.add(fetchNanos);
+        latency.recordNanos(executeNanos + fetchNanos);
+    }
+
+    void recordFailure(long executeNanos) {
+        errors.increment();
+        this.executeNanos.add(executeNanos);
+    }
+
+    boolean claimExplain(long nowNanos, long intervalNanos) {
+        long last = lastExplainNanos.get();
+        return nowNanos - last >= intervalNanos && lastExplainNanos.compareAndSet(last, nowNanos);
+    }
+
+    SqlTemplateStats snapshot() {
+        return new SqlTemplateStats(sql, executions.sum(), errors.sum(), rows.sum(),
+                executeNanos.sum(), fetchNanos.sum(), latency.snapshot());
+    }
+}
@@ -0,0 +1,73 @@
+package metrics;
+
+/**
+ * Point-in-time view of one SQL template. Times are in milliseconds.
+ */
+public class SqlTemplateStats {
+
+    private final String sql;
+    private final long executions;
+    private final long errors;
+    private final long rows;
+    private final long executeNanos;
+    private final long fetchNanos;
+    private final LatencyHistogram.Snapshot latency;
+
+    public SqlTemplateStats(String sql, long executions, long errors, long rows,
+                            long executeNanos, long fetchNanos, LatencyHistogram.Snapshot latency) {
+        this.sql = sql;
+        this.executions = executions;
+        this.errors = errors;
+        this.rows = rows;
+        this.executeNanos = executeNanos;
+        this.fetchNanos = fetchNanos;
+        this.latency = latency;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public double getRowsPerExecution() {
+        return executions == 0 ? 0.0 : (double) rows / executions;
+    }
+
+    /**
+     * Statement execution plus result set iteration, summed over all executions.
+     */
+    public double getTotalMillis() {
+        return (executeNanos + fetchNanos) / 1_000_000.0;
+    }
+
+    public double getExecuteMillis() {
+        return executeNanos / 1_000_000.0;
+    }
+
+    public double getFetchMillis() {
+        return fetchNanos / 1_000_000.0;
+    }
+
+    public double getMeanMillis() {
+        return latency.getMeanMicros() / 1_000.0;
+    }
+
+    public double getP99Millis() {
+        return latency.valueAtQuantile(0.99) / 1_000.0;
+    }
+
+    public double getMaxMillis() {
+        return latency.getMaxMicros() / 1_000.0;
+    }
+}
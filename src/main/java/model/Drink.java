@@ -18,6 +18,11 @@ public class Drink extends FoodItem {
         return getPrice();
     }
 
+    @Override
+    public Drink withPrice(double newPrice) {
+        return new Drink(getId(), getName(), newPrice, volumeMl);
+    }
+
     @Override
     public String getDescription() {
         return "Drink: " + getName() + (volumeMl != null ? " (" + volumeMl + " ml)" : "");
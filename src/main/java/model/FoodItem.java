@@ -16,6 +16,11 @@ public abstract class FoodItem implements PricedItem, Validatable {
 
     public abstract String getDescription();
 
+    /**
+     * Returns a copy of this item with a different price, leaving this instance untouched.
+     */
+    public abstract FoodItem withPrice(double newPrice);
+
     @Override
     public double getPrice() {
         return price;
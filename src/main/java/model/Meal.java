@@ -18,6 +18,11 @@ public class Meal extends FoodItem {
         return getPrice();
     }
 
+    @Override
+    public Meal withPrice(double newPrice) {
+        return new Meal(getId(), getName(), newPrice, calories);
+    }
+
     @Override
     public String getDescription() {
         return "Meal: " + getName() + (calories != null ? " (" + calories + " cal)" : "");
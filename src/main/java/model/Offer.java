@@ -11,9 +11,16 @@ public class Offer {
     private LocalDate startDate;
     private LocalDate endDate;
     private boolean isActive;
+    /** Incremented by every write to the row; used for optimistic concurrency. */
+    private int version;
 
     public Offer(int id, int foodItemId, double discountPercentage, String description,
                  LocalDate startDate, LocalDate endDate, boolean isActive) {
+        this(id, foodItemId, discountPercentage, description, startDate, endDate, isActive, 0);
+    }
+
+    public Offer(int id, int foodItemId, double discountPercentage, String description,
+                 LocalDate startDate, LocalDate endDate, boolean isActive, int version) {
         this.id = id;
         this.foodItemId = foodItemId;
         this.discountPercentage = discountPercentage;
@@ -21,6 +28,7 @@ public class Offer {
         this.startDate = startDate;
         this.endDate = endDate;
         this.isActive = isActive;
+        this.version = version;
     }
 
     public Offer(int foodItemId, double discountPercentage, String description,
@@ -99,5 +107,12 @@ public class Offer {
     public void setActive(boolean active) {
         isActive = active;
     }
-}
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+}
@@ -13,6 +13,7 @@ public class OfferBuilder {
     private LocalDate startDate;
     private LocalDate endDate;
     private boolean active = true;
+    private int version;
 
     public OfferBuilder id(int id) {
         this.id = id;
@@ -49,8 +50,13 @@ public class OfferBuilder {
         return this;
     }
 
+    public OfferBuilder version(int version) {
+        this.version = version;
+        return this;
+    }
+
     public Offer build() {
-        return new Offer(id, foodItemId, discountPercentage, description, startDate, endDate, active);
+        return new Offer(id, foodItemId, discountPercentage, description, startDate, endDate, active, version);
     }
 
     public static OfferBuilder fromExisting(Offer existing) {
@@ -61,7 +67,8 @@ public class OfferBuilder {
                 .description(existing.getDescription())
                 .startDate(existing.getStartDate())
                 .endDate(existing.getEndDate())
-                .active(existing.isActive());
+                .active(existing.isActive())
+                .version(existing.getVersion());
     }
 }
 
@@ -13,11 +13,11 @@ public class FoodItemFactory {
     public FoodItem create(FoodItemRequest request) {
         return switch (request.getType()) {
             case MEAL -> {
-                logger.info("Creating Meal from REST request");
+                logger.debug("Creating Meal from REST request");
                 yield new Meal(0, request.getName(), request.getPrice());
             }
             case DRINK -> {
-                logger.info("Creating Drink from REST request");
+                logger.debug("Creating Drink from REST request");
                 yield new Drink(0, request.getName(), request.getPrice());
             }
         };
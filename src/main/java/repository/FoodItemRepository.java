@@ -2,22 +2,77 @@ package repository;
 
 import model.FoodItem;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface FoodItemRepository {
 
     FoodItem save(FoodItem item);
 
+    List<FoodItem> saveAll(List<FoodItem> items);
+
+    long copyIn(Iterator<FoodItem> items);
+
     FoodItem findById(int id);
 
+    List<FoodItem> findByIds(Collection<Integer> ids);
+
+    /**
+     * @throws exception.RepositoryException if the query fails
+     */
     List<FoodItem> findAll();
 
-    void deleteById(int id);
+    List<FoodItem> findPage(int afterId, int limit);
+
+    void streamAll(Consumer<FoodItem> consumer);
+
+    /**
+     * @return whether a row with that id existed
+     * @throws exception.RepositoryException if the statement fails
+     */
+    boolean deleteById(int id);
 
     List<FoodItem> findAllSortedByName();
 
-    void updatePrice(String name, double newPrice);
+    /**
+     * Keyset page in {@code lower(name), id} order; pass a null name for the first page.
+     */
+    List<FoodItem> findPageSortedByName(String afterName, int afterId, int limit);
+
+    /**
+     * One primary-key UPDATE.
+     *
+     * @return whether a row with that id existed
+     * @throws exception.RepositoryException if the statement fails
+     */
+    boolean updatePriceById(int id, double newPrice);
+
+    /**
+     * Applies all prices in one transaction, batched.
+     *
+     * @return ids that matched no row, e.g. items deleted since the price was set
+     * @throws exception.RepositoryException if the batch fails; nothing is applied
+     */
+    Set<Integer> updatePrices(Map<Integer, Double> pricesById);
+
+    /**
+     * Legacy console flow only: reprices every item with that name, and the
+     * name column is not indexed. Use {@link #updatePriceById} elsewhere.
+     *
+     * @return ids of the rows that were repriced
+     */
+    List<Integer> updatePrice(String name, double newPrice);
 
-    void deleteByName(String name);
+    /**
+     * Legacy console flow only, like {@link #updatePrice(String, double)}.
+     * Use {@link #deleteById} elsewhere.
+     *
+     * @return ids of the rows that were deleted
+     */
+    List<Integer> deleteByName(String name);
 }
 
@@ -1,15 +1,24 @@
 package repository;
 
+import config.DatabaseConfigManager;
+import exception.RepositoryException;
 import model.Drink;
 import model.FoodItem;
 import model.Meal;
 import org.springframework.stereotype.Repository;
+import utils.CsvCopy;
 import utils.DatabaseConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 @Repository
 public class FoodItemRepositoryImpl implements FoodItemRepository {
@@ -25,21 +34,74 @@ public class FoodItemRepositoryImpl implements FoodItemRepository {
             ps.setDouble(2, item.getPrice());
             ps.setString(3, item.getClass().getSimpleName());
 
-            int affectedRows = ps.executeUpdate();
+            ps.executeUpdate();
+
+            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException("Missing generated key for " + item.getName());
+                }
+                item.setId(generatedKeys.getInt(1));
+                return item;
+            }
+        } catch (SQLException e) {
+            // Thrown rather than swallowed: callers cache the item under the id set here.
+            throw new RepositoryException("Insert of food item " + item.getName() + " failed", e);
+        }
+    }
 
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        int id = generatedKeys.getInt(1);
-                        item.setId(id);
-                        return item;
+    @Override
+    public List<FoodItem> saveAll(List<FoodItem> items) {
+        String sql = "INSERT INTO food_items (name, price, type) VALUES (?, ?, ?)";
+        int batchSize = DatabaseConfigManager.getInstance().getBatchSize();
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < items.size(); from += batchSize) {
+                    List<FoodItem> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+                    for (FoodItem item : chunk) {
+                        ps.setString(1, item.getName());
+                        ps.setDouble(2, item.getPrice());
+                        ps.setString(3, item.getClass().getSimpleName());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                        for (FoodItem item : chunk) {
+                            if (!generatedKeys.next()) {
+                                throw new SQLException("Missing generated key for " + item.getName());
+                            }
+                            item.setId(generatedKeys.getInt(1));
+                        }
                     }
                 }
+                conn.commit();
+                return items;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RepositoryException("Batch insert of " + items.size() + " food items failed", e);
+        }
+    }
+
+    @Override
+    public long copyIn(Iterator<FoodItem> items) {
+        String sql = "COPY food_items (name, price, type) FROM STDIN WITH (FORMAT csv)";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return CsvCopy.copyIn(conn, sql, items, (item, row) -> {
+                CsvCopy.appendText(row, item.getName());
+                row.append(',').append(item.getPrice()).append(',');
+                CsvCopy.appendText(row, item.getClass().getSimpleName());
+            });
+        } catch (SQLException e) {
+            throw new RepositoryException("COPY into food_items failed: " + e.getMessage(), e);
         }
-        return null;
     }
 
     @Override
@@ -55,58 +117,218 @@ public class FoodItemRepositoryImpl implements FoodItemRepository {
                 items.add(mapRow(rs));
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            // Thrown rather than swallowed: an empty list would be cached as the whole catalog.
+            throw new RepositoryException("Loading food items failed", e);
         }
         return items;
     }
 
+    @Override
+    public List<FoodItem> findPage(int afterId, int limit) {
+        List<FoodItem> items = new ArrayList<>();
+        String sql = "SELECT * FROM food_items WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            // Thrown rather than swallowed: an empty page would end the client's paging.
+            throw new RepositoryException("Loading food item page failed", e);
+        }
+        return items;
+    }
+
+    /**
+     * Reads the table through a server-side cursor: PostgreSQL only honours
+     * the fetch size inside a transaction, so autocommit is switched off and
+     * at most one fetch batch of rows is held in memory.
+     *
+     * The consumer usually writes to a client, so the connection comes from
+     * the separate stream pool rather than the main one.
+     */
+    @Override
+    public void streamAll(Consumer<FoodItem> consumer) {
+        String sql = "SELECT * FROM food_items ORDER BY id";
+
+        try (Connection conn = DatabaseConnection.getStreamConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(DatabaseConfigManager.getInstance().getStreamFetchSize());
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(mapRow(rs));
+                    }
+                }
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RepositoryException("Streaming food items failed", e);
+        }
+    }
+
     @Override
     public List<FoodItem> findAllSortedByName() {
-        List<FoodItem> items = findAll();
-        items.sort(Comparator.comparing(FoodItem::getName, String.CASE_INSENSITIVE_ORDER));
+        List<FoodItem> items = new ArrayList<>();
+        String sql = "SELECT * FROM food_items ORDER BY lower(name), id";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                items.add(mapRow(rs));
+            }
+        } catch (SQLException e) {
+            // Thrown rather than swallowed: the presorted view keeps whatever this returns.
+            throw new RepositoryException("Loading food items sorted by name failed", e);
+        }
         return items;
     }
 
     @Override
-    public void updatePrice(String name, double newPrice) {
-        String sql = "UPDATE food_items SET price = ? WHERE name = ?";
+    public List<FoodItem> findPageSortedByName(String afterName, int afterId, int limit) {
+        List<FoodItem> items = new ArrayList<>();
+        // Both forms are served by idx_food_items_lower_name (lower(name), id).
+        String sql = afterName == null
+                ? "SELECT * FROM food_items ORDER BY lower(name), id LIMIT ?"
+                : "SELECT * FROM food_items WHERE (lower(name), id) > (lower(?), ?) ORDER BY lower(name), id LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterName != null) {
+                ps.setString(index++, afterName);
+                ps.setInt(index++, afterId);
+            }
+            ps.setInt(index, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RepositoryException("Loading sorted food item page failed", e);
+        }
+        return items;
+    }
+
+    @Override
+    public List<Integer> updatePrice(String name, double newPrice) {
+        String sql = "UPDATE food_items SET price = ?, version = version + 1 WHERE name = ? RETURNING id";
+        List<Integer> ids = new ArrayList<>();
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setDouble(1, newPrice);
             ps.setString(2, name);
-            ps.executeUpdate();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            // Thrown rather than swallowed: an empty id list reads as "nothing to reprice" and skips the cache patch.
+            throw new RepositoryException("Updating price of food items named " + name + " failed", e);
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean updatePriceById(int id, double newPrice) {
+        String sql = "UPDATE food_items SET price = ?, version = version + 1 WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setDouble(1, newPrice);
+            ps.setInt(2, id);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RepositoryException("Updating price of food item " + id + " failed", e);
+        }
+    }
+
+    @Override
+    public Set<Integer> updatePrices(Map<Integer, Double> pricesById) {
+        String sql = "UPDATE food_items SET price = ?, version = version + 1 WHERE id = ?";
+        int batchSize = DatabaseConfigManager.getInstance().getBatchSize();
+        // Fixed order, so two batches touching the same rows lock them in the same sequence.
+        List<Map.Entry<Integer, Double>> entries = new ArrayList<>(new TreeMap<>(pricesById).entrySet());
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                Set<Integer> unmatched = new HashSet<>();
+                for (int from = 0; from < entries.size(); from += batchSize) {
+                    List<Map.Entry<Integer, Double>> chunk = entries.subList(from, Math.min(from + batchSize, entries.size()));
+                    for (Map.Entry<Integer, Double> entry : chunk) {
+                        ps.setDouble(1, entry.getValue());
+                        ps.setInt(2, entry.getKey());
+                        ps.addBatch();
+                    }
+                    int[] counts = ps.executeBatch();
+                    // SUCCESS_NO_INFO (-2) says nothing about the row, so only an explicit 0 counts as unmatched.
+                    for (int i = 0; i < counts.length && i < chunk.size(); i++) {
+                        if (counts[i] == 0) {
+                            unmatched.add(chunk.get(i).getKey());
+                        }
+                    }
+                }
+                conn.commit();
+                return unmatched;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RepositoryException("Batch price update of " + entries.size() + " food items failed", e);
         }
     }
 
     @Override
-    public void deleteByName(String name) {
-        String sql = "DELETE FROM food_items WHERE name = ?";
+    public List<Integer> deleteByName(String name) {
+        String sql = "DELETE FROM food_items WHERE name = ? RETURNING id";
+        List<Integer> ids = new ArrayList<>();
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, name);
-            ps.executeUpdate();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RepositoryException("Deleting food items named " + name + " failed", e);
         }
+        return ids;
     }
 
     @Override
-    public void deleteById(int id) {
+    public boolean deleteById(int id) {
         String sql = "DELETE FROM food_items WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
-            ps.executeUpdate();
+            return ps.executeUpdate() > 0;
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RepositoryException("Deleting food item " + id + " failed", e);
         }
     }
 
@@ -118,17 +340,41 @@ public class FoodItemRepositoryImpl implements FoodItemRepository {
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
-            ResultSet rs = ps.executeQuery();
-
-            if (rs.next()) {
-                return mapRow(rs);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRow(rs);
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RepositoryException("Loading food item " + id + " failed", e);
         }
         return null;
     }
 
+    @Override
+    public List<FoodItem> findByIds(Collection<Integer> ids) {
+        List<FoodItem> items = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return items;
+        }
+        String sql = "SELECT * FROM food_items WHERE id = ANY (?)";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setArray(1, conn.createArrayOf("integer", ids.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            // Thrown rather than swallowed: missing rows are reported to the client as unknown ids.
+            throw new RepositoryException("Loading " + ids.size() + " food items by id failed", e);
+        }
+        return items;
+    }
+
     private FoodItem mapRow(ResultSet rs) throws SQLException {
         int id = rs.getInt("id");
         String name = rs.getString("name");
@@ -2,21 +2,32 @@ package repository;
 
 import model.Offer;
 
+import java.util.Iterator;
 import java.util.List;
 
 public interface OfferRepository {
 
     void save(Offer offer);
 
+    void saveAll(List<Offer> offers);
+
+    long copyIn(Iterator<Offer> offers);
+
     Offer findById(int id);
 
     List<Offer> findAll();
 
-    void update(Offer offer);
+    List<Offer> findPage(int afterId, int limit);
+
+    /**
+     * Writes the offer's editable fields and bumps its version. With a non-null
+     * {@code expectedVersion} the write only applies if the row is still at that version.
+     */
+    WriteResult<Offer> update(Offer offer, Integer expectedVersion);
 
-    void deleteById(int id);
+    WriteResult<Offer> deleteById(int id, Integer expectedVersion);
 
-    void deactivateById(int id);
+    WriteResult<Offer> deactivateById(int id, Integer expectedVersion);
 
     List<Offer> findByFoodItemId(int foodItemId);
 
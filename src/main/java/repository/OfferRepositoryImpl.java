@@ -1,12 +1,16 @@
 package repository;
 
+import config.DatabaseConfigManager;
+import exception.RepositoryException;
 import model.Offer;
 import org.springframework.stereotype.Repository;
+import utils.CsvCopy;
 import utils.DatabaseConnection;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 @Repository
@@ -27,17 +31,79 @@ public class OfferRepositoryImpl implements OfferRepository {
             ps.setDate(5, Date.valueOf(offer.getEndDate()));
             ps.setBoolean(6, offer.isActive());
 
-            int affectedRows = ps.executeUpdate();
+            ps.executeUpdate();
+
+            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException("Missing generated key for offer on food item " + offer.getFoodItemId());
+                }
+                offer.setId(generatedKeys.getInt(1));
+            }
+        } catch (SQLException e) {
+            // Thrown rather than swallowed: callers index the offer by the id set here.
+            throw new RepositoryException("Insert of offer on food item " + offer.getFoodItemId() + " failed", e);
+        }
+    }
 
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        offer.setId(generatedKeys.getInt(1));
+    @Override
+    public void saveAll(List<Offer> offers) {
+        String sql = "INSERT INTO offers (food_item_id, discount_percentage, description, start_date, end_date, is_active) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        int batchSize = DatabaseConfigManager.getInstance().getBatchSize();
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < offers.size(); from += batchSize) {
+                    List<Offer> chunk = offers.subList(from, Math.min(from + batchSize, offers.size()));
+                    for (Offer offer : chunk) {
+                        ps.setInt(1, offer.getFoodItemId());
+                        ps.setDouble(2, offer.getDiscountPercentage());
+                        ps.setString(3, offer.getDescription());
+                        ps.setDate(4, Date.valueOf(offer.getStartDate()));
+                        ps.setDate(5, Date.valueOf(offer.getEndDate()));
+                        ps.setBoolean(6, offer.isActive());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                        for (Offer offer : chunk) {
+                            if (!generatedKeys.next()) {
+                                throw new SQLException("Missing generated key for offer on food item " + offer.getFoodItemId());
+                            }
+                            offer.setId(generatedKeys.getInt(1));
+                        }
                     }
                 }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RepositoryException("Batch insert of " + offers.size() + " offers failed", e);
+        }
+    }
+
+    @Override
+    public long copyIn(Iterator<Offer> offers) {
+        String sql = "COPY offers (food_item_id, discount_percentage, description, start_date, end_date, is_active) " +
+                "FROM STDIN WITH (FORMAT csv)";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return CsvCopy.copyIn(conn, sql, offers, (offer, row) -> {
+                row.append(offer.getFoodItemId()).append(',')
+                        .append(offer.getDiscountPercentage()).append(',');
+                CsvCopy.appendText(row, offer.getDescription());
+                row.append(',').append(offer.getStartDate())
+                        .append(',').append(offer.getEndDate())
+                        .append(',').append(offer.isActive());
+            });
+        } catch (SQLException e) {
+            throw new RepositoryException("COPY into offers failed: " + e.getMessage(), e);
         }
     }
 
@@ -54,7 +120,29 @@ public class OfferRepositoryImpl implements OfferRepository {
                 offers.add(mapResultSetToOffer(rs));
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            // Thrown rather than swallowed: an empty list would be indexed as "no active offers".
+            throw new RepositoryException("Loading offers failed", e);
+        }
+        return offers;
+    }
+
+    @Override
+    public List<Offer> findPage(int afterId, int limit) {
+        List<Offer> offers = new ArrayList<>();
+        String sql = "SELECT * FROM offers WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    offers.add(mapResultSetToOffer(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RepositoryException("Loading offer page failed", e);
         }
         return offers;
     }
@@ -68,13 +156,14 @@ public class OfferRepositoryImpl implements OfferRepository {
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, foodItemId);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                offers.add(mapResultSetToOffer(rs));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    offers.add(mapResultSetToOffer(rs));
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            // Thrown rather than swallowed: an empty list would be cached as "no offers".
+            throw new RepositoryException("Loading offers for food item " + foodItemId + " failed", e);
         }
         return offers;
     }
@@ -91,13 +180,14 @@ public class OfferRepositoryImpl implements OfferRepository {
 
             ps.setDate(1, Date.valueOf(today));
             ps.setDate(2, Date.valueOf(today));
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                offers.add(mapResultSetToOffer(rs));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    offers.add(mapResultSetToOffer(rs));
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            // Thrown rather than swallowed: an empty list would be cached until the next date boundary.
+            throw new RepositoryException("Loading active offers failed", e);
         }
         return offers;
     }
@@ -110,67 +200,109 @@ public class OfferRepositoryImpl implements OfferRepository {
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
-            ResultSet rs = ps.executeQuery();
-
-            if (rs.next()) {
-                return mapResultSetToOffer(rs);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToOffer(rs);
+                }
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RepositoryException("Loading offer " + id + " failed", e);
         }
         return null;
     }
 
     @Override
-    public void update(Offer offer) {
-        String sql = "UPDATE offers SET food_item_id = ?, discount_percentage = ?, description = ?, " +
-                "start_date = ?, end_date = ?, is_active = ? WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setInt(1, offer.getFoodItemId());
-            ps.setDouble(2, offer.getDiscountPercentage());
-            ps.setString(3, offer.getDescription());
-            ps.setDate(4, Date.valueOf(offer.getStartDate()));
-            ps.setDate(5, Date.valueOf(offer.getEndDate()));
-            ps.setBoolean(6, offer.isActive());
-            ps.setInt(7, offer.getId());
+    public WriteResult<Offer> update(Offer offer, Integer expectedVersion) {
+        String write = "UPDATE offers SET food_item_id = ?, discount_percentage = ?, description = ?, " +
+                "start_date = ?, end_date = ?, version = version + 1";
+
+        return conditionalWrite(write, offer.getId(), expectedVersion, (ps, index) -> {
+            ps.setInt(index++, offer.getFoodItemId());
+            ps.setDouble(index++, offer.getDiscountPercentage());
+            ps.setString(index++, offer.getDescription());
+            ps.setDate(index++, Date.valueOf(offer.getStartDate()));
+            ps.setDate(index++, Date.valueOf(offer.getEndDate()));
+            return index;
+        });
+    }
 
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    @Override
+    public WriteResult<Offer> deleteById(int id, Integer expectedVersion) {
+        return conditionalWrite("DELETE FROM offers", id, expectedVersion, (ps, index) -> index);
     }
 
     @Override
-    public void deleteById(int id) {
-        String sql = "DELETE FROM offers WHERE id = ?";
+    public WriteResult<Offer> deactivateById(int id, Integer expectedVersion) {
+        return conditionalWrite("UPDATE offers SET is_active = FALSE, version = version + 1",
+                id, expectedVersion, (ps, index) -> index);
+    }
+
+    /**
+     * Runs {@code write} against one row in a single round trip. Without an
+     * expected version it is a plain {@code WHERE id = ? RETURNING *}. With one,
+     * a CTE reads the row's current version next to the guarded write, so an
+     * empty result means "no such row" and a result without the written row
+     * means "version moved on".
+     *
+     * All parts of the CTE share one snapshot, but under READ COMMITTED the
+     * UPDATE/DELETE re-checks the newest row after waiting on a concurrent
+     * writer. So when {@code existing} shows the expected version yet nothing
+     * was written, another transaction changed or deleted the row after the
+     * snapshot; only then is the row read again to tell 409 from 404.
+     */
+    private WriteResult<Offer> conditionalWrite(String write, int id, Integer expectedVersion, Binder binder) {
+        String sql = expectedVersion == null
+                ? write + " WHERE id = ? RETURNING *"
+                : "WITH existing AS (SELECT version FROM offers WHERE id = ?), " +
+                "written AS (" + write + " WHERE id = ? AND version = ? RETURNING *) " +
+                "SELECT existing.version AS current_version, written.* FROM existing LEFT JOIN written ON TRUE";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setInt(1, id);
-            ps.executeUpdate();
+            int index = 1;
+            if (expectedVersion != null) {
+                ps.setInt(index++, id);
+            }
+            index = binder.bind(ps, index);
+            ps.setInt(index++, id);
+            if (expectedVersion != null) {
+                ps.setInt(index, expectedVersion);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return WriteResult.notFound();
+                }
+                if (rs.getObject("id") != null) {
+                    return WriteResult.applied(mapResultSetToOffer(rs));
+                }
+                int currentVersion = rs.getInt("current_version");
+                if (currentVersion != expectedVersion) {
+                    return WriteResult.conflict(currentVersion);
+                }
+            }
+            return lostRace(conn, id);
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RepositoryException("Write to offer " + id + " failed: " + e.getMessage(), e);
         }
     }
 
-    @Override
-    public void deactivateById(int id) {
-        String sql = "UPDATE offers SET is_active = FALSE WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
+    private WriteResult<Offer> lostRace(Connection conn, int id) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT version FROM offers WHERE id = ?")) {
             ps.setInt(1, id);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? WriteResult.conflict(rs.getInt(1)) : WriteResult.notFound();
+            }
         }
     }
 
+    @FunctionalInterface
+    private interface Binder {
+        /** Binds the write's own parameters from {@code index} on and returns the next free index. */
+        int bind(PreparedStatement ps, int index) throws SQLException;
+    }
+
     private Offer mapResultSetToOffer(ResultSet rs) throws SQLException {
         int id = rs.getInt("id");
         int foodItemId = rs.getInt("food_item_id");
@@ -179,8 +311,9 @@ public class OfferRepositoryImpl implements OfferRepository {
         LocalDate startDate = rs.getDate("start_date").toLocalDate();
         LocalDate endDate = rs.getDate("end_date").toLocalDate();
         boolean isActive = rs.getBoolean("is_active");
+        int version = rs.getInt("version");
 
-        return new Offer(id, foodItemId, discountPercentage, description, startDate, endDate, isActive);
+        return new Offer(id, foodItemId, discountPercentage, description, startDate, endDate, isActive, version);
     }
 }
 
@@ -0,0 +1,30 @@
+package repository;
+
+import model.FoodItem;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link FoodItemRepository} for the "reactive"
+ * profile. Write methods report the number of affected rows so callers can
+ * tell a missing row from a successful update.
+ */
+public interface ReactiveFoodItemRepository {
+
+    Mono<FoodItem> save(FoodItem item);
+
+    Mono<FoodItem> findById(int id);
+
+    Flux<FoodItem> findAll();
+
+    Flux<FoodItem> findPage(int afterId, int limit);
+
+    /**
+     * Keyset page in {@code lower(name), id} order; pass a null name for the first page.
+     */
+    Flux<FoodItem> findPageSortedByName(String afterName, int afterId, int limit);
+
+    Mono<Long> updatePriceById(int id, double newPrice);
+
+    Mono<Long> deleteById(int id);
+}
@@ -0,0 +1,119 @@
+package repository;
+
+import exception.RepositoryException;
+import io.r2dbc.spi.Readable;
+import model.Drink;
+import model.FoodItem;
+import model.Meal;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * R2DBC implementation with the same SQL as {@link FoodItemRepositoryImpl}.
+ * Failures surface as {@link RepositoryException} in the returned publisher.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveFoodItemRepositoryImpl implements ReactiveFoodItemRepository {
+
+    private final DatabaseClient client;
+
+    public ReactiveFoodItemRepositoryImpl(DatabaseClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<FoodItem> save(FoodItem item) {
+        String sql = "INSERT INTO food_items (name, price, type) VALUES (:name, :price, :type)";
+
+        return client.sql(sql)
+                .bind("name", item.getName())
+                .bind("price", item.getPrice())
+                .bind("type", item.getClass().getSimpleName())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .map(id -> {
+                    item.setId(id);
+                    return item;
+                })
+                .onErrorMap(e -> new RepositoryException("Saving food item failed", e));
+    }
+
+    @Override
+    public Mono<FoodItem> findById(int id) {
+        return client.sql("SELECT * FROM food_items WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveFoodItemRepositoryImpl::mapRow)
+                .one()
+                .onErrorMap(e -> new RepositoryException("Loading food item " + id + " failed", e));
+    }
+
+    @Override
+    public Flux<FoodItem> findAll() {
+        return client.sql("SELECT * FROM food_items")
+                .map(ReactiveFoodItemRepositoryImpl::mapRow)
+                .all()
+                .onErrorMap(e -> new RepositoryException("Loading food items failed", e));
+    }
+
+    @Override
+    public Flux<FoodItem> findPage(int afterId, int limit) {
+        return client.sql("SELECT * FROM food_items WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveFoodItemRepositoryImpl::mapRow)
+                .all()
+                .onErrorMap(e -> new RepositoryException("Loading food item page failed", e));
+    }
+
+    @Override
+    public Flux<FoodItem> findPageSortedByName(String afterName, int afterId, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = afterName == null
+                ? client.sql("SELECT * FROM food_items ORDER BY lower(name), id LIMIT :limit")
+                : client.sql("SELECT * FROM food_items WHERE (lower(name), id) > (lower(:afterName), :afterId) "
+                        + "ORDER BY lower(name), id LIMIT :limit")
+                .bind("afterName", afterName)
+                .bind("afterId", afterId);
+
+        return spec.bind("limit", limit)
+                .map(ReactiveFoodItemRepositoryImpl::mapRow)
+                .all()
+                .onErrorMap(e -> new RepositoryException("Loading sorted food item page failed", e));
+    }
+
+    @Override
+    public Mono<Long> updatePriceById(int id, double newPrice) {
+        return client.sql("UPDATE food_items SET price = :price, version = version + 1 WHERE id = :id")
+                .bind("price", newPrice)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .onErrorMap(e -> new RepositoryException("Updating price of food item " + id + " failed", e));
+    }
+
+    @Override
+    public Mono<Long> deleteById(int id) {
+        return client.sql("DELETE FROM food_items WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .onErrorMap(e -> new RepositoryException("Deleting food item " + id + " failed", e));
+    }
+
+    private static FoodItem mapRow(Readable row) {
+        int id = row.get("id", Integer.class);
+        String name = row.get("name", String.class);
+        double price = row.get("price", BigDecimal.class).doubleValue();
+        String type = row.get("type", String.class);
+
+        return "Meal".equals(type)
+                ? new Meal(id, name, price)
+                : new Drink(id, name, price);
+    }
+}
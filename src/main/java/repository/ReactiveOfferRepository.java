@@ -0,0 +1,32 @@
+package repository;
+
+import model.Offer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of {@link OfferRepository} for the "reactive"
+ * profile. Updates and deletes report their outcome as a {@link WriteResult}.
+ */
+public interface ReactiveOfferRepository {
+
+    Mono<Offer> save(Offer offer);
+
+    Mono<Offer> findById(int id);
+
+    Flux<Offer> findAll();
+
+    Flux<Offer> findPage(int afterId, int limit);
+
+    Flux<Offer> findByFoodItemId(int foodItemId);
+
+    Flux<Offer> findActiveOffers(LocalDate date);
+
+    Mono<WriteResult<Offer>> update(Offer offer, Integer expectedVersion);
+
+    Mono<WriteResult<Offer>> deleteById(int id, Integer expectedVersion);
+
+    Mono<WriteResult<Offer>> deactivateById(int id, Integer expectedVersion);
+}
@@ -0,0 +1,173 @@
+package repository;
+
+import exception.RepositoryException;
+import io.r2dbc.spi.Readable;
+import model.Offer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.UnaryOperator;
+
+/**
+ * R2DBC implementation with the same SQL as {@link OfferRepositoryImpl}.
+ * Failures surface as {@link RepositoryException} in the returned publisher.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveOfferRepositoryImpl implements ReactiveOfferRepository {
+
+    private final DatabaseClient client;
+
+    public ReactiveOfferRepositoryImpl(DatabaseClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<Offer> save(Offer offer) {
+        String sql = "INSERT INTO offers (food_item_id, discount_percentage, description, start_date, end_date, is_active) "
+                + "VALUES (:foodItemId, :discount, :description, :startDate, :endDate, :active)";
+
+        return bindOffer(client.sql(sql), offer)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .map(id -> {
+                    offer.setId(id);
+                    return offer;
+                })
+                .onErrorMap(e -> new RepositoryException("Saving offer failed", e));
+    }
+
+    @Override
+    public Mono<Offer> findById(int id) {
+        return client.sql("SELECT * FROM offers WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveOfferRepositoryImpl::mapRow)
+                .one()
+                .onErrorMap(e -> new RepositoryException("Loading offer " + id + " failed", e));
+    }
+
+    @Override
+    public Flux<Offer> findAll() {
+        return client.sql("SELECT * FROM offers ORDER BY id")
+                .map(ReactiveOfferRepositoryImpl::mapRow)
+                .all()
+                .onErrorMap(e -> new RepositoryException("Loading offers failed", e));
+    }
+
+    @Override
+    public Flux<Offer> findPage(int afterId, int limit) {
+        return client.sql("SELECT * FROM offers WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveOfferRepositoryImpl::mapRow)
+                .all()
+                .onErrorMap(e -> new RepositoryException("Loading offer page failed", e));
+    }
+
+    @Override
+    public Flux<Offer> findByFoodItemId(int foodItemId) {
+        return client.sql("SELECT * FROM offers WHERE food_item_id = :foodItemId ORDER BY id")
+                .bind("foodItemId", foodItemId)
+                .map(ReactiveOfferRepositoryImpl::mapRow)
+                .all()
+                .onErrorMap(e -> new RepositoryException("Loading offers of food item " + foodItemId + " failed", e));
+    }
+
+    @Override
+    public Flux<Offer> findActiveOffers(LocalDate date) {
+        return client.sql("SELECT * FROM offers WHERE is_active = TRUE "
+                        + "AND start_date <= :date AND end_date >= :date ORDER BY id")
+                .bind("date", date)
+                .map(ReactiveOfferRepositoryImpl::mapRow)
+                .all()
+                .onErrorMap(e -> new RepositoryException("Loading active offers failed", e));
+    }
+
+    @Override
+    public Mono<WriteResult<Offer>> update(Offer offer, Integer expectedVersion) {
+        String write = "UPDATE offers SET food_item_id = :foodItemId, discount_percentage = :discount, "
+                + "description = :description, start_date = :startDate, end_date = :endDate, version = version + 1";
+
+        return conditionalWrite(write, offer.getId(), expectedVersion, spec -> bindOfferFields(spec, offer));
+    }
+
+    @Override
+    public Mono<WriteResult<Offer>> deleteById(int id, Integer expectedVersion) {
+        return conditionalWrite("DELETE FROM offers", id, expectedVersion, UnaryOperator.identity());
+    }
+
+    @Override
+    public Mono<WriteResult<Offer>> deactivateById(int id, Integer expectedVersion) {
+        return conditionalWrite("UPDATE offers SET is_active = FALSE, version = version + 1",
+                id, expectedVersion, UnaryOperator.identity());
+    }
+
+    /**
+     * Same single-statement shape as {@link OfferRepositoryImpl}: a plain
+     * {@code RETURNING *} without a version, a CTE that also reads the current
+     * version with one, and a re-read only when a concurrent writer got in
+     * after the CTE's snapshot.
+     */
+    private Mono<WriteResult<Offer>> conditionalWrite(String write, int id, Integer expectedVersion,
+                                                      UnaryOperator<DatabaseClient.GenericExecuteSpec> binder) {
+        DatabaseClient.GenericExecuteSpec spec = expectedVersion == null
+                ? client.sql(write + " WHERE id = :id RETURNING *")
+                : client.sql("WITH existing AS (SELECT version FROM offers WHERE id = :id), "
+                        + "written AS (" + write + " WHERE id = :id AND version = :expectedVersion RETURNING *) "
+                        + "SELECT existing.version AS current_version, written.* FROM existing LEFT JOIN written ON TRUE")
+                .bind("expectedVersion", expectedVersion);
+
+        return binder.apply(spec.bind("id", id))
+                .map(row -> row.get("id") == null
+                        ? WriteResult.<Offer>conflict(row.get("current_version", Integer.class))
+                        : WriteResult.applied(mapRow(row)))
+                .one()
+                .defaultIfEmpty(WriteResult.notFound())
+                .flatMap(result -> result.getStatus() == WriteResult.Status.CONFLICT
+                        && result.getCurrentVersion() == expectedVersion
+                        ? lostRace(id)
+                        : Mono.just(result))
+                .onErrorMap(e -> new RepositoryException("Write to offer " + id + " failed: " + e.getMessage(), e));
+    }
+
+    private Mono<WriteResult<Offer>> lostRace(int id) {
+        return client.sql("SELECT version FROM offers WHERE id = :id")
+                .bind("id", id)
+                .map(row -> WriteResult.<Offer>conflict(row.get("version", Integer.class)))
+                .one()
+                .defaultIfEmpty(WriteResult.notFound());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindOffer(DatabaseClient.GenericExecuteSpec spec, Offer offer) {
+        return bindOfferFields(spec, offer).bind("active", offer.isActive());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindOfferFields(DatabaseClient.GenericExecuteSpec spec, Offer offer) {
+        spec = spec.bind("foodItemId", offer.getFoodItemId())
+                .bind("discount", offer.getDiscountPercentage())
+                .bind("startDate", offer.getStartDate())
+                .bind("endDate", offer.getEndDate());
+        return offer.getDescription() != null
+                ? spec.bind("description", offer.getDescription())
+                : spec.bindNull("description", String.class);
+    }
+
+    private static Offer mapRow(Readable row) {
+        int id = row.get("id", Integer.class);
+        int foodItemId = row.get("food_item_id", Integer.class);
+        double discountPercentage = row.get("discount_percentage", BigDecimal.class).doubleValue();
+        String description = row.get("description", String.class);
+        LocalDate startDate = row.get("start_date", LocalDate.class);
+        LocalDate endDate = row.get("end_date", LocalDate.class);
+        boolean isActive = Boolean.TRUE.equals(row.get("is_active", Boolean.class));
+        int version = row.get("version", Integer.class);
+
+        return new Offer(id, foodItemId, discountPercentage, description, startDate, endDate, isActive, version);
+    }
+}
@@ -0,0 +1,57 @@
+package repository;
+
+/**
+ * Outcome of a single-statement conditional write: the row as written, no row
+ * with that id, or a row whose version did not match the expected one.
+ */
+public final class WriteResult<T> {
+
+    public enum Status {
+        APPLIED,
+        NOT_FOUND,
+        CONFLICT
+    }
+
+    private static final WriteResult<?> NOT_FOUND = new WriteResult<>(Status.NOT_FOUND, null, 0);
+
+    private final Status status;
+    private final T value;
+    private final int currentVersion;
+
+    private WriteResult(Status status, T value, int currentVersion) {
+        this.status = status;
+        this.value = value;
+        this.currentVersion = currentVersion;
+    }
+
+    public static <T> WriteResult<T> applied(T value) {
+        return new WriteResult<>(Status.APPLIED, value, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> WriteResult<T> notFound() {
+        return (WriteResult<T>) NOT_FOUND;
+    }
+
+    public static <T> WriteResult<T> conflict(int currentVersion) {
+        return new WriteResult<>(Status.CONFLICT, null, currentVersion);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * The row as the write left it (or as it was, for a delete); null unless applied.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * The version found in the database; only meaningful for a conflict.
+     */
+    public int getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,328 @@
+package service;
+
+import exception.RepositoryException;
+import logging.LoggerService;
+import model.Offer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import repository.OfferRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of active offers by food item, so pricing does not need a
+ * database round trip.
+ *
+ * Each item's offers are flattened into non-overlapping date segments, each
+ * holding the offer that applies on those days (lowest id wins on overlap,
+ * matching the ORDER BY id of the active-offer query). A lookup is a binary
+ * search over one item's segments.
+ *
+ * The whole index is an immutable snapshot behind one volatile field. Writes
+ * copy the maps, rebuild only the affected item and publish the new snapshot,
+ * so reads never lock and never see a half-built index.
+ */
+@Component
+public class ActiveOfferIndex {
+
+    private final OfferRepository offerRepository;
+    private final LoggerService logger = LoggerService.getInstance();
+
+    // Not synchronized: reload runs a query, and a monitor would pin a virtual thread for it.
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Null while unloaded; the next lookup loads it. */
+    private volatile Snapshot snapshot;
+
+    public ActiveOfferIndex(OfferRepository offerRepository) {
+        this.offerRepository = offerRepository;
+    }
+
+    /**
+     * Warms the index at startup. The app may start with the database down, in
+     * which case the index stays unloaded and the first lookup retries.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+        } catch (RepositoryException e) {
+            logger.warn("Active offer index not loaded at startup; retrying on first lookup", e);
+        }
+    }
+
+    /**
+     * Returns the offer that applies to the item on the given date, or null.
+     */
+    public Offer findEffectiveOffer(int foodItemId, LocalDate date) {
+        ItemOffers item = loaded().byFoodItem.get(foodItemId);
+        return item != null ? item.offerOn(date) : null;
+    }
+
+    /**
+     * Returns the first day after {@code date} on which some active offer starts or
+     * has just ended, i.e. the next day the set of active offers can change on its
+     * own; null if there is none. The days are sorted when the snapshot is built,
+     * so this is a binary search rather than a scan of every offer.
+     */
+    public LocalDate nextBoundaryAfter(LocalDate date) {
+        LocalDate[] boundaries = loaded().boundaries;
+        int index = Arrays.binarySearch(boundaries, date);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return index < boundaries.length ? boundaries[index] : null;
+    }
+
+    public void upsert(Offer offer) {
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            Map<Integer, ItemOffers> byFoodItem = new HashMap<>(current.byFoodItem);
+            Map<Integer, Integer> foodItemByOffer = new HashMap<>(current.foodItemByOffer);
+            Integer previousFoodItemId = foodItemByOffer.remove(offer.getId());
+            if (previousFoodItemId != null) {
+                rebuild(byFoodItem, previousFoodItemId, offer.getId(), null);
+            }
+            if (offer.isActive()) {
+                foodItemByOffer.put(offer.getId(), offer.getFoodItemId());
+                rebuild(byFoodItem, offer.getFoodItemId(), offer.getId(), offer);
+            }
+            snapshot = Snapshot.of(byFoodItem, foodItemByOffer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(int offerId) {
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null || !current.foodItemByOffer.containsKey(offerId)) {
+                return;
+            }
+            Map<Integer, ItemOffers> byFoodItem = new HashMap<>(current.byFoodItem);
+            Map<Integer, Integer> foodItemByOffer = new HashMap<>(current.foodItemByOffer);
+            rebuild(byFoodItem, foodItemByOffer.remove(offerId), offerId, null);
+            snapshot = Snapshot.of(byFoodItem, foodItemByOffer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every offer of a food item, for when the item is deleted and its
+     * offers go with it through the foreign key's ON DELETE CASCADE.
+     */
+    public void removeFoodItem(int foodItemId) {
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null || !current.byFoodItem.containsKey(foodItemId)) {
+                return;
+            }
+            Map<Integer, ItemOffers> byFoodItem = new HashMap<>(current.byFoodItem);
+            Map<Integer, Integer> foodItemByOffer = new HashMap<>(current.foodItemByOffer);
+            for (Offer offer : byFoodItem.remove(foodItemId).offers) {
+                foodItemByOffer.remove(offer.getId());
+            }
+            snapshot = Snapshot.of(byFoodItem, foodItemByOffer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the index; it is rebuilt from the database on the next lookup.
+     */
+    public void invalidate() {
+        lock.lock();
+        try {
+            snapshot = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database. Readers keep using the previous
+     * snapshot meanwhile. If the query fails the index is left unloaded, so
+     * lookups retry instead of pricing without discounts.
+     */
+    public void reload() {
+        lock.lock();
+        try {
+            rebuildAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called with the lock held.
+     */
+    private Snapshot rebuildAll() {
+        List<Offer> offers;
+        try {
+            offers = offerRepository.findAll();
+        } catch (RuntimeException e) {
+            snapshot = null;
+            throw e;
+        }
+        Map<Integer, List<Offer>> grouped = new HashMap<>();
+        for (Offer offer : offers) {
+            if (offer.isActive()) {
+                grouped.computeIfAbsent(offer.getFoodItemId(), id -> new ArrayList<>()).add(offer);
+            }
+        }
+        Map<Integer, ItemOffers> byFoodItem = new HashMap<>();
+        Map<Integer, Integer> foodItemByOffer = new HashMap<>();
+        grouped.forEach((foodItemId, itemOffers) -> {
+            byFoodItem.put(foodItemId, ItemOffers.of(itemOffers));
+            itemOffers.forEach(offer -> foodItemByOffer.put(offer.getId(), foodItemId));
+        });
+        Snapshot built = Snapshot.of(byFoodItem, foodItemByOffer);
+        snapshot = built;
+        return built;
+    }
+
+    private Snapshot loaded() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            current = snapshot;
+            return current != null ? current : rebuildAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces (or removes, when replacement is null) one offer of an item and re-segments it.
+     */
+    private static void rebuild(Map<Integer, ItemOffers> byFoodItem, int foodItemId, int offerId, Offer replacement) {
+        List<Offer> offers = new ArrayList<>();
+        ItemOffers current = byFoodItem.get(foodItemId);
+        if (current != null) {
+            for (Offer offer : current.offers) {
+                if (offer.getId() != offerId) {
+                    offers.add(offer);
+                }
+            }
+        }
+        if (replacement != null) {
+            offers.add(replacement);
+        }
+        if (offers.isEmpty()) {
+            byFoodItem.remove(foodItemId);
+        } else {
+            byFoodItem.put(foodItemId, ItemOffers.of(offers));
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final Map<Integer, ItemOffers> byFoodItem;
+        private final Map<Integer, Integer> foodItemByOffer;
+        /** Every start date and every day after an end date, sorted and distinct. */
+        private final LocalDate[] boundaries;
+
+        private Snapshot(Map<Integer, ItemOffers> byFoodItem, Map<Integer, Integer> foodItemByOffer,
+                         LocalDate[] boundaries) {
+            this.byFoodItem = byFoodItem;
+            this.foodItemByOffer = foodItemByOffer;
+            this.boundaries = boundaries;
+        }
+
+        static Snapshot of(Map<Integer, ItemOffers> byFoodItem, Map<Integer, Integer> foodItemByOffer) {
+            TreeSet<LocalDate> boundaries = new TreeSet<>();
+            for (ItemOffers item : byFoodItem.values()) {
+                for (Offer offer : item.offers) {
+                    boundaries.add(offer.getStartDate());
+                    boundaries.add(offer.getEndDate().plusDays(1));
+                }
+            }
+            return new Snapshot(Map.copyOf(byFoodItem), Map.copyOf(foodItemByOffer),
+                    boundaries.toArray(new LocalDate[0]));
+        }
+    }
+
+    private static final class ItemOffers {
+
+        private final List<Offer> offers;
+        private final LocalDate[] starts;
+        private final LocalDate[] ends;
+        private final Offer[] winners;
+
+        private ItemOffers(List<Offer> offers, LocalDate[] starts, LocalDate[] ends, Offer[] winners) {
+            this.offers = offers;
+            this.starts = starts;
+            this.ends = ends;
+            this.winners = winners;
+        }
+
+        static ItemOffers of(List<Offer> offers) {
+            List<Offer> byId = new ArrayList<>(offers);
+            byId.sort(Comparator.comparingInt(Offer::getId));
+
+            // Every start date and every day after an end date can change the winner.
+            TreeSet<LocalDate> boundaries = new TreeSet<>();
+            for (Offer offer : byId) {
+                boundaries.add(offer.getStartDate());
+                boundaries.add(offer.getEndDate().plusDays(1));
+            }
+
+            List<LocalDate> starts = new ArrayList<>();
+            List<LocalDate> ends = new ArrayList<>();
+            List<Offer> winners = new ArrayList<>();
+            LocalDate[] points = boundaries.toArray(new LocalDate[0]);
+            for (int i = 0; i < points.length - 1; i++) {
+                LocalDate from = points[i];
+                LocalDate to = points[i + 1].minusDays(1);
+                Offer winner = null;
+                for (Offer offer : byId) {
+                    if (!from.isBefore(offer.getStartDate()) && !from.isAfter(offer.getEndDate())) {
+                        winner = offer;
+                        break;
+                    }
+                }
+                if (winner == null) {
+                    continue;
+                }
+                int last = winners.size() - 1;
+                if (last >= 0 && winners.get(last) == winner && ends.get(last).plusDays(1).equals(from)) {
+                    ends.set(last, to);
+                } else {
+                    starts.add(from);
+                    ends.add(to);
+                    winners.add(winner);
+                }
+            }
+            return new ItemOffers(List.copyOf(byId), starts.toArray(new LocalDate[0]),
+                    ends.toArray(new LocalDate[0]), winners.toArray(new Offer[0]));
+        }
+
+        Offer offerOn(LocalDate date) {
+            int index = Arrays.binarySearch(starts, date);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            if (index < 0 || date.isAfter(ends[index])) {
+                return null;
+            }
+            return winners[index];
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dto.FoodItemResponse;
+import model.FoodItem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The full catalog as ready-to-send bytes: the JSON array and its gzip
+ * encoding, built once per cached list and shared by every request until the
+ * list changes. The arrays are never modified after construction and must
+ * not be modified by callers.
+ *
+ * The digest identifies the bytes themselves, so it also changes when a
+ * reload picks up rows that were changed outside this process.
+ */
+public final class CatalogSnapshot {
+
+    private final List<FoodItem> source;
+    private final long version;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String digest;
+
+    private CatalogSnapshot(List<FoodItem> source, long version, byte[] json, byte[] gzip) {
+        this.source = source;
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+        this.digest = digest(json);
+    }
+
+    static CatalogSnapshot of(List<FoodItem> items, long version, ObjectWriter listWriter) {
+        List<FoodItemResponse> responses = items.stream().map(FoodItemResponse::from).toList();
+        byte[] json;
+        try {
+            json = listWriter.writeValueAsBytes(responses);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the catalog", e);
+        }
+        return new CatalogSnapshot(items, version, json, gzip(json));
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            byte[] sha256 = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(Arrays.copyOf(sha256, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    boolean isOf(List<FoodItem> items, long version) {
+        return source == items && this.version == version;
+    }
+
+    /**
+     * Hex digest of the JSON bytes (the first 128 bits of their SHA-256); used for the ETag.
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+}
@@ -1,23 +1,64 @@
 package service;
 
+import dto.ImportFormat;
+import dto.ImportReport;
+import dto.PageResponse;
 import model.FoodItem;
 
+import java.io.Reader;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FoodItemService {
 
     FoodItem addFoodItem(FoodItem item);
 
+    List<FoodItem> addFoodItems(List<FoodItem> items);
+
+    ImportReport importFoodItems(Reader body, ImportFormat format);
+
     List<FoodItem> getAllFoodItems();
 
+    PageResponse<FoodItem> getFoodItemsPage(String cursor, Integer limit);
+
+    void streamAllFoodItems(Consumer<FoodItem> consumer);
+
     List<FoodItem> getAllFoodItemsSortedByName();
 
-    void updatePrice(String name, double price);
+    PageResponse<FoodItem> getFoodItemsSortedByNamePage(String cursor, Integer limit);
 
-    void deleteFoodItem(String name);
+    /**
+     * @throws exception.NotFoundException if no item has that id
+     */
+    void updatePriceById(int id, double price);
 
+    /**
+     * @throws exception.NotFoundException if no item has that id
+     */
     void deleteFoodItemById(int id);
 
+    /**
+     * Legacy console flow only: reprices every item with that name. Use
+     * {@link #updatePriceById} elsewhere.
+     */
+    void updatePrice(String name, double price);
+
+    /**
+     * Legacy console flow only: deletes every item with that name. Use
+     * {@link #deleteFoodItemById} elsewhere.
+     */
+    void deleteFoodItem(String name);
+
     FoodItem getFoodItemById(int id);
+
+    /**
+     * Incremented after every write to the catalog; used for ETags.
+     */
+    long getCatalogVersion();
+
+    /**
+     * The current catalog pre-serialized; rebuilt only when the cached list changes.
+     */
+    CatalogSnapshot getCatalogSnapshot();
 }
 
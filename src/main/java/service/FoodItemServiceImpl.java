@@ -2,22 +2,89 @@ package service;
 
 import cache.CacheKeys;
 import cache.InMemoryCacheManager;
+import cache.RefreshPolicy;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import config.AppConfigManager;
+import dto.FoodItemRequest;
+import dto.FoodItemResponse;
+import dto.ImportFormat;
+import dto.ImportReport;
+import dto.PageResponse;
 import exception.FoodItemNotValidException;
+import exception.NotFoundException;
+import exception.RepositoryException;
 import model.FoodItem;
+import jakarta.annotation.PreDestroy;
+import metrics.MetricsRegistry;
 import model.Validatable;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
+import patterns.factory.FoodItemFactory;
 import repository.FoodItemRepository;
+import utils.ImportRows;
+import utils.PageCursor;
 
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
+/**
+ * With {@code write-behind.prices.enabled}, price updates go to the caches at
+ * once and reach the database in periodic batches; every read path overlays
+ * still-buffered prices so callers always see their own writes.
+ */
 @Service
+// Destroyed before the pool closes, so the final write-behind flush still has connections.
+@DependsOn("databasePoolLifecycle")
 public class FoodItemServiceImpl implements FoodItemService {
 
+    private static final int MAX_IMPORT_ERRORS = 1000;
+
     private final FoodItemRepository repository;
+    private final OfferService offerService;
     private final InMemoryCacheManager cache = InMemoryCacheManager.getInstance();
+    private final FoodItemFactory foodItemFactory = new FoodItemFactory();
+    private final SortedFoodItemView sortedView = new SortedFoodItemView();
+    /** Bumped after the caches are updated, so a reader that saw version N sees at least N's data. */
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final ObjectWriter catalogWriter;
+    private final Object snapshotLock = new Object();
+    private volatile CatalogSnapshot catalogSnapshot;
+    /** Null unless price write-behind is enabled. */
+    private final PriceWriteBehind<Integer> priceWriteBehind;
 
-    public FoodItemServiceImpl(FoodItemRepository repository) {
+    public FoodItemServiceImpl(FoodItemRepository repository, OfferService offerService, ObjectMapper objectMapper) {
         this.repository = repository;
+        this.offerService = offerService;
+        this.catalogWriter = objectMapper.writerFor(new TypeReference<List<FoodItemResponse>>() {
+        });
+        AppConfigManager config = AppConfigManager.getInstance();
+        cache.setRefreshPolicy(CacheKeys.FOOD_ITEMS_ALL, RefreshPolicy.ofSeconds(
+                config.getCatalogRefreshAfterSeconds(),
+                config.getCatalogStaleWhileRevalidateSeconds(),
+                config.getCatalogStaleIfErrorSeconds()));
+        if (config.isPriceWriteBehind()) {
+            priceWriteBehind = new PriceWriteBehind<>(repository::updatePrices,
+                    config.getPriceWriteBehindFlushIntervalMs(), config.getPriceWriteBehindMaxPending());
+            MetricsRegistry.getInstance().registerWriteBehind(priceWriteBehind::stats);
+        } else {
+            priceWriteBehind = null;
+        }
+    }
+
+    @PreDestroy
+    public void flushPendingPrices() {
+        if (priceWriteBehind != null) {
+            priceWriteBehind.close();
+        }
     }
 
     @Override
@@ -26,29 +93,177 @@ public class FoodItemServiceImpl implements FoodItemService {
             throw new FoodItemNotValidException("Invalid food item: " + item.validationMessage());
         }
         FoodItem saved = repository.save(item);
-        invalidateFoodItemsCache();
-        return saved != null ? saved : null;
+        patchCachedList(items -> appended(items, List.of(saved)));
+        sortedView.insert(List.of(saved));
+        catalogVersion.incrementAndGet();
+        return saved;
+    }
+
+    @Override
+    public List<FoodItem> addFoodItems(List<FoodItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new FoodItemNotValidException("Batch must contain at least one food item");
+        }
+        for (int i = 0; i < items.size(); i++) {
+            FoodItem item = items.get(i);
+            if (!Validatable.isValid(item)) {
+                throw new FoodItemNotValidException("Invalid food item at index " + i + ": "
+                        + (item == null ? "null" : item.validationMessage()));
+            }
+        }
+        List<FoodItem> saved = repository.saveAll(items);
+        patchCachedList(cached -> appended(cached, saved));
+        sortedView.insert(saved);
+        catalogVersion.incrementAndGet();
+        return saved;
+    }
+
+    @Override
+    public ImportReport importFoodItems(Reader body, ImportFormat format) {
+        ImportReport report = new ImportReport(format, MAX_IMPORT_ERRORS);
+        ImportRows<FoodItemRequest, FoodItem> rows =
+                new ImportRows<>(body, format, FoodItemRequest.class, this::toValidFoodItem, report);
+        try {
+            report.setImported(repository.copyIn(rows));
+        } catch (RepositoryException e) {
+            if (e.isConstraintViolation()) {
+                throw new FoodItemNotValidException("Import rejected by the database: " + e.getRootMessage());
+            }
+            throw e;
+        } finally {
+            invalidateFoodItemsCache();
+            sortedView.reset();
+            catalogVersion.incrementAndGet();
+        }
+        return report;
+    }
+
+    private FoodItem toValidFoodItem(FoodItemRequest request) {
+        if (request.getType() == null) {
+            throw new FoodItemNotValidException("Food item type is required");
+        }
+        FoodItem item = foodItemFactory.create(request);
+        if (!Validatable.isValid(item)) {
+            throw new FoodItemNotValidException("Invalid food item: " + item.validationMessage());
+        }
+        return item;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<FoodItem> getAllFoodItems() {
-        List<FoodItem> cached = (List<FoodItem>) cache.get(CacheKeys.FOOD_ITEMS_ALL);
-        if (cached != null) {
-            return cached;
+        return cache.getOrLoad(CacheKeys.FOOD_ITEMS_ALL,
+                () -> Collections.unmodifiableList(withPendingPrices(repository.findAll())));
+    }
+
+    @Override
+    public PageResponse<FoodItem> getFoodItemsPage(String cursor, Integer limit) {
+        int pageSize = PageCursor.resolveLimit(limit);
+        // One extra row tells us whether another page exists without a COUNT query.
+        List<FoodItem> rows = withPendingPrices(repository.findPage(PageCursor.parseId(cursor), pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new PageResponse<>(rows, null, pageSize);
         }
-        List<FoodItem> list = repository.findAll();
-        cache.put(CacheKeys.FOOD_ITEMS_ALL, list);
-        return list;
+        List<FoodItem> page = rows.subList(0, pageSize);
+        return new PageResponse<>(page, PageCursor.ofId(page.get(pageSize - 1).getId()), pageSize);
+    }
+
+    /**
+     * Bypasses the cache on purpose: the point is to never hold the whole table.
+     */
+    @Override
+    public void streamAllFoodItems(Consumer<FoodItem> consumer) {
+        repository.streamAll(priceWriteBehind == null ? consumer : item -> consumer.accept(withPendingPrice(item)));
     }
 
     private void invalidateFoodItemsCache() {
         cache.remove(CacheKeys.FOOD_ITEMS_ALL);
     }
 
+    /**
+     * Writes patch the cached list instead of dropping it, so one change does not
+     * cost the next reader a full-table reload. The list is never mutated in place:
+     * readers may still be iterating the previous copy. A patch may also be applied
+     * to a list loaded after the write, so every patch must be idempotent.
+     */
+    private void patchCachedList(UnaryOperator<List<FoodItem>> patch) {
+        cache.<List<FoodItem>>computeIfPresent(CacheKeys.FOOD_ITEMS_ALL, patch);
+    }
+
+    /**
+     * Appends the new items, skipping any the list already holds.
+     */
+    private static List<FoodItem> appended(List<FoodItem> items, List<FoodItem> added) {
+        Set<Integer> present = new HashSet<>();
+        for (FoodItem item : items) {
+            present.add(item.getId());
+        }
+        List<FoodItem> copy = new ArrayList<>(items.size() + added.size());
+        copy.addAll(items);
+        for (FoodItem item : added) {
+            if (!present.contains(item.getId())) {
+                copy.add(item);
+            }
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static List<FoodItem> repriced(List<FoodItem> items, Set<Integer> ids, double price) {
+        List<FoodItem> copy = new ArrayList<>(items.size());
+        for (FoodItem item : items) {
+            copy.add(ids.contains(item.getId()) ? item.withPrice(price) : item);
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static List<FoodItem> without(List<FoodItem> items, Set<Integer> ids) {
+        List<FoodItem> copy = new ArrayList<>(items.size());
+        for (FoodItem item : items) {
+            if (!ids.contains(item.getId())) {
+                copy.add(item);
+            }
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
     @Override
     public List<FoodItem> getAllFoodItemsSortedByName() {
-        return repository.findAllSortedByName();
+        return sortedView.get(() -> withPendingPrices(repository.findAllSortedByName()));
+    }
+
+    @Override
+    public PageResponse<FoodItem> getFoodItemsSortedByNamePage(String cursor, Integer limit) {
+        int pageSize = PageCursor.resolveLimit(limit);
+        PageCursor.NamePosition after = PageCursor.parseName(cursor);
+        List<FoodItem> rows = withPendingPrices(after == null
+                ? repository.findPageSortedByName(null, 0, pageSize + 1)
+                : repository.findPageSortedByName(after.getName(), after.getId(), pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new PageResponse<>(rows, null, pageSize);
+        }
+        List<FoodItem> page = rows.subList(0, pageSize);
+        FoodItem last = page.get(pageSize - 1);
+        return new PageResponse<>(page, PageCursor.ofName(last.getName(), last.getId()), pageSize);
+    }
+
+    /**
+     * One primary-key UPDATE, or with write-behind none at all: existence is
+     * then checked against the cached item, which is loaded by id on a miss.
+     */
+    @Override
+    public void updatePriceById(int id, double price) {
+        if (id <= 0) {
+            throw new FoodItemNotValidException("ID must be positive");
+        }
+        if (price <= 0) {
+            throw new FoodItemNotValidException("Price must be positive");
+        }
+        if (priceWriteBehind != null) {
+            getFoodItemById(id);
+            priceWriteBehind.submit(id, price);
+        } else if (!repository.updatePriceById(id, price)) {
+            throw new NotFoundException("Food item not found with ID: " + id);
+        }
+        repriceCached(Set.of(id), price);
     }
 
     @Override
@@ -56,8 +271,59 @@ public class FoodItemServiceImpl implements FoodItemService {
         if (price <= 0) {
             throw new FoodItemNotValidException("Price must be positive");
         }
-        repository.updatePrice(name, price);
-        invalidateFoodItemsCache();
+        Set<Integer> ids;
+        if (priceWriteBehind != null) {
+            ids = idsNamed(name);
+            for (Integer id : ids) {
+                priceWriteBehind.submit(id, price);
+            }
+        } else {
+            ids = new HashSet<>(repository.updatePrice(name, price));
+        }
+        if (!ids.isEmpty()) {
+            repriceCached(ids, price);
+        }
+    }
+
+    private void repriceCached(Set<Integer> ids, double price) {
+        for (Integer id : ids) {
+            cache.<FoodItem>computeIfPresent(CacheKeys.foodItem(id), item -> item.withPrice(price));
+        }
+        patchCachedList(items -> repriced(items, ids, price));
+        sortedView.replacePrice(item -> ids.contains(item.getId()), price);
+        catalogVersion.incrementAndGet();
+    }
+
+    /**
+     * Ids are taken from the cached catalog, so a buffered update costs no query.
+     */
+    private Set<Integer> idsNamed(String name) {
+        Set<Integer> ids = new HashSet<>();
+        for (FoodItem item : getAllFoodItems()) {
+            if (item.getName().equals(name)) {
+                ids.add(item.getId());
+            }
+        }
+        return ids;
+    }
+
+    private FoodItem withPendingPrice(FoodItem item) {
+        if (priceWriteBehind == null || item == null) {
+            return item;
+        }
+        Double price = priceWriteBehind.pendingPrice(item.getId());
+        return price != null ? item.withPrice(price) : item;
+    }
+
+    private List<FoodItem> withPendingPrices(List<FoodItem> items) {
+        if (priceWriteBehind == null || priceWriteBehind.isEmpty()) {
+            return items;
+        }
+        List<FoodItem> copy = new ArrayList<>(items.size());
+        for (FoodItem item : items) {
+            copy.add(withPendingPrice(item));
+        }
+        return copy;
     }
 
     @Override
@@ -65,8 +331,17 @@ public class FoodItemServiceImpl implements FoodItemService {
         if (name == null || name.isBlank()) {
             throw new FoodItemNotValidException("Name cannot be empty");
         }
-        repository.deleteByName(name);
-        invalidateFoodItemsCache();
+        Set<Integer> ids = new HashSet<>(repository.deleteByName(name));
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Integer id : ids) {
+            cache.remove(CacheKeys.foodItem(id));
+        }
+        patchCachedList(items -> without(items, ids));
+        sortedView.remove(item -> item.getName().equals(name));
+        catalogVersion.incrementAndGet();
+        offerService.onFoodItemsDeleted(ids);
     }
 
     @Override
@@ -74,8 +349,14 @@ public class FoodItemServiceImpl implements FoodItemService {
         if (id <= 0) {
             throw new FoodItemNotValidException("ID must be positive");
         }
-        repository.deleteById(id);
-        invalidateFoodItemsCache();
+        if (!repository.deleteById(id)) {
+            throw new NotFoundException("Food item not found with ID: " + id);
+        }
+        cache.remove(CacheKeys.foodItem(id));
+        patchCachedList(items -> without(items, Set.of(id)));
+        sortedView.remove(item -> item.getId() == id);
+        catalogVersion.incrementAndGet();
+        offerService.onFoodItemsDeleted(Set.of(id));
     }
 
     @Override
@@ -83,11 +364,38 @@ public class FoodItemServiceImpl implements FoodItemService {
         if (id <= 0) {
             throw new FoodItemNotValidException("ID must be positive");
         }
-        FoodItem item = repository.findById(id);
+        FoodItem item = cache.getOrLoad(CacheKeys.foodItem(id), () -> withPendingPrice(repository.findById(id)));
         if (item == null) {
-            throw new FoodItemNotValidException("Food item not found with ID: " + id);
+            throw new NotFoundException("Food item not found with ID: " + id);
         }
         return item;
     }
-}
 
+    /**
+     * Rebuilt when the cached list is replaced or the catalog version moves,
+     * never for a plain cache hit. The version is read before the list, since
+     * writers bump it only after patching the caches.
+     */
+    @Override
+    public CatalogSnapshot getCatalogSnapshot() {
+        long version = catalogVersion.get();
+        List<FoodItem> items = getAllFoodItems();
+        CatalogSnapshot snapshot = catalogSnapshot;
+        if (snapshot != null && snapshot.isOf(items, version)) {
+            return snapshot;
+        }
+        synchronized (snapshotLock) {
+            snapshot = catalogSnapshot;
+            if (snapshot == null || !snapshot.isOf(items, version)) {
+                snapshot = CatalogSnapshot.of(items, version, catalogWriter);
+                catalogSnapshot = snapshot;
+            }
+            return snapshot;
+        }
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+}
@@ -1,27 +1,59 @@
 package service;
 
+import dto.ImportFormat;
+import dto.ImportReport;
+import dto.PageResponse;
 import model.Offer;
 
+import java.io.Reader;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 public interface OfferService {
 
     void addOffer(Offer offer);
 
+    void addOffers(List<Offer> offers);
+
+    ImportReport importOffers(Reader body, ImportFormat format);
+
     List<Offer> getAllOffers();
 
+    PageResponse<Offer> getOffersPage(String cursor, Integer limit);
+
     List<Offer> getOffersByFoodItemId(int foodItemId);
 
     List<Offer> getActiveOffers();
 
     Offer getOfferById(int id);
 
-    void updateOffer(Offer offer);
+    /**
+     * Applies the offer's editable fields and returns the row as stored. A
+     * non-null {@code expectedVersion} makes the write conditional on it.
+     */
+    Offer updateOffer(Offer offer, Integer expectedVersion);
 
-    void deleteOffer(int id);
+    void deleteOffer(int id, Integer expectedVersion);
 
-    void deactivateOffer(int id);
+    void deactivateOffer(int id, Integer expectedVersion);
 
     double getDiscountedPrice(int foodItemId, double originalPrice);
+
+    /**
+     * Forgets the offers of deleted food items, which the database removed with
+     * them through ON DELETE CASCADE.
+     */
+    void onFoodItemsDeleted(Set<Integer> foodItemIds);
+
+    /**
+     * Incremented after every offer write; used for ETags.
+     */
+    long getOffersVersion();
+
+    /**
+     * First future day on which the active offers change without a write, or null.
+     */
+    LocalDate getNextActiveOffersChange();
 }
 
@@ -1,23 +1,53 @@
 package service;
 
+import cache.CacheKeys;
+import cache.InMemoryCacheManager;
+import dto.ImportFormat;
+import dto.ImportReport;
+import dto.OfferRequest;
+import dto.PageResponse;
+import exception.ConflictException;
+import exception.NotFoundException;
+import exception.RepositoryException;
 import exception.ValidationException;
 import model.FoodItem;
 import model.Offer;
 import org.springframework.stereotype.Service;
+import patterns.builder.OfferBuilder;
 import repository.FoodItemRepository;
 import repository.OfferRepository;
+import repository.WriteResult;
+import utils.ImportRows;
+import utils.PageCursor;
 
+import java.io.Reader;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Service
 public class OfferServiceImpl implements OfferService {
 
+    private static final int MAX_IMPORT_ERRORS = 1000;
+
     private final OfferRepository offerRepository;
     private final FoodItemRepository foodItemRepository;
+    private final ActiveOfferIndex activeOfferIndex;
+    private final InMemoryCacheManager cache = InMemoryCacheManager.getInstance();
+    /** Bumped after the caches are invalidated, so a reader that saw version N sees at least N's data. */
+    private final AtomicLong offersVersion = new AtomicLong();
 
-    public OfferServiceImpl(OfferRepository offerRepository, FoodItemRepository foodItemRepository) {
+    public OfferServiceImpl(OfferRepository offerRepository, FoodItemRepository foodItemRepository,
+                            ActiveOfferIndex activeOfferIndex) {
         this.offerRepository = offerRepository;
         this.foodItemRepository = foodItemRepository;
+        this.activeOfferIndex = activeOfferIndex;
     }
 
     @Override
@@ -34,12 +64,95 @@ public class OfferServiceImpl implements OfferService {
             throw new ValidationException("Food item not found with ID: " + offer.getFoodItemId());
         }
 
+        // Throws on failure, so a row that was never written cannot reach the index.
         offerRepository.save(offer);
+        activeOfferIndex.upsert(offer);
+        invalidateOffersCache();
+    }
+
+    @Override
+    public void addOffers(List<Offer> offers) {
+        if (offers == null || offers.isEmpty()) {
+            throw new ValidationException("Batch must contain at least one offer");
+        }
+        Set<Integer> foodItemIds = new HashSet<>();
+        for (int i = 0; i < offers.size(); i++) {
+            Offer offer = offers.get(i);
+            if (offer == null || !offer.validate()) {
+                throw new ValidationException("Invalid offer data at index " + i);
+            }
+            foodItemIds.add(offer.getFoodItemId());
+        }
+
+        Set<Integer> existing = new HashSet<>();
+        for (FoodItem foodItem : foodItemRepository.findByIds(foodItemIds)) {
+            existing.add(foodItem.getId());
+        }
+        foodItemIds.removeAll(existing);
+        if (!foodItemIds.isEmpty()) {
+            throw new ValidationException("Food items not found with IDs: " + foodItemIds);
+        }
+
+        offerRepository.saveAll(offers);
+        offers.forEach(activeOfferIndex::upsert);
+        invalidateOffersCache();
+    }
+
+    /**
+     * Rows are checked with Offer.validate only; an unknown food item ID is
+     * caught by the foreign key and aborts the whole COPY.
+     */
+    @Override
+    public ImportReport importOffers(Reader body, ImportFormat format) {
+        ImportReport report = new ImportReport(format, MAX_IMPORT_ERRORS);
+        ImportRows<OfferRequest, Offer> rows =
+                new ImportRows<>(body, format, OfferRequest.class, this::toValidOffer, report);
+        try {
+            report.setImported(offerRepository.copyIn(rows));
+        } catch (RepositoryException e) {
+            // Only data the database refused is the client's fault; lost connections and timeouts stay 500s.
+            if (e.isConstraintViolation()) {
+                throw new ValidationException("Import rejected by the database: " + e.getRootMessage());
+            }
+            throw e;
+        } finally {
+            // COPY does not return ids, so the index is rebuilt on the next lookup.
+            activeOfferIndex.invalidate();
+            invalidateOffersCache();
+        }
+        return report;
+    }
+
+    private Offer toValidOffer(OfferRequest request) {
+        Offer offer = new OfferBuilder()
+                .foodItemId(request.getFoodItemId())
+                .discountPercentage(request.getDiscountPercentage())
+                .description(request.getDescription())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .active(true)
+                .build();
+        if (!offer.validate()) {
+            throw new ValidationException("Invalid offer data");
+        }
+        return offer;
     }
 
     @Override
     public List<Offer> getAllOffers() {
-        return offerRepository.findAll();
+        return cache.getOrLoad(CacheKeys.OFFERS_ALL,
+                () -> Collections.unmodifiableList(offerRepository.findAll()));
+    }
+
+    @Override
+    public PageResponse<Offer> getOffersPage(String cursor, Integer limit) {
+        int pageSize = PageCursor.resolveLimit(limit);
+        List<Offer> rows = offerRepository.findPage(PageCursor.parseId(cursor), pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new PageResponse<>(rows, null, pageSize);
+        }
+        List<Offer> page = rows.subList(0, pageSize);
+        return new PageResponse<>(page, PageCursor.ofId(page.get(pageSize - 1).getId()), pageSize);
     }
 
     @Override
@@ -47,12 +160,31 @@ public class OfferServiceImpl implements OfferService {
         if (foodItemId <= 0) {
             throw new ValidationException("Food item ID must be positive");
         }
-        return offerRepository.findByFoodItemId(foodItemId);
+        return cache.getOrLoad(CacheKeys.offersByFoodItem(foodItemId),
+                () -> Collections.unmodifiableList(offerRepository.findByFoodItemId(foodItemId)));
     }
 
+    /**
+     * Cached until the next day an offer starts or ends, since that is the only
+     * way the result changes without a write; writes invalidate it as usual.
+     * With no such day ahead it stays until the next write.
+     */
     @Override
     public List<Offer> getActiveOffers() {
-        return offerRepository.findActiveOffers();
+        LocalDate today = LocalDate.now();
+        return cache.getOrLoad(CacheKeys.OFFERS_ACTIVE,
+                () -> Collections.unmodifiableList(offerRepository.findActiveOffers()),
+                offers -> untilBoundaryAfter(today));
+    }
+
+    private Duration untilBoundaryAfter(LocalDate today) {
+        LocalDate boundary = activeOfferIndex.nextBoundaryAfter(today);
+        return boundary == null ? null : Duration.between(LocalDateTime.now(), boundary.atStartOfDay());
+    }
+
+    private void invalidateOffersCache() {
+        cache.removeByPrefix(CacheKeys.OFFERS_PREFIX);
+        offersVersion.incrementAndGet();
     }
 
     @Override
@@ -62,13 +194,17 @@ public class OfferServiceImpl implements OfferService {
         }
         Offer offer = offerRepository.findById(id);
         if (offer == null) {
-            throw new ValidationException("Offer not found with ID: " + id);
+            throw new NotFoundException("Offer not found with ID: " + id);
         }
         return offer;
     }
 
+    /**
+     * Existence and the version check are decided by the write itself, so there
+     * is no read beforehand and no window for another writer between the two.
+     */
     @Override
-    public void updateOffer(Offer offer) {
+    public Offer updateOffer(Offer offer, Integer expectedVersion) {
         if (offer.getId() <= 0) {
             throw new ValidationException("Offer ID must be positive");
         }
@@ -76,49 +212,76 @@ public class OfferServiceImpl implements OfferService {
             throw new ValidationException("Invalid offer data");
         }
 
-        Offer existingOffer = offerRepository.findById(offer.getId());
-        if (existingOffer == null) {
-            throw new ValidationException("Offer not found with ID: " + offer.getId());
-        }
-
-        offerRepository.update(offer);
+        Offer updated = applied(offer.getId(), write(() -> offerRepository.update(offer, expectedVersion)));
+        activeOfferIndex.upsert(updated);
+        invalidateOffersCache();
+        return updated;
     }
 
     @Override
-    public void deleteOffer(int id) {
+    public void deleteOffer(int id, Integer expectedVersion) {
         if (id <= 0) {
             throw new ValidationException("Offer ID must be positive");
         }
-        Offer offer = offerRepository.findById(id);
-        if (offer == null) {
-            throw new ValidationException("Offer not found with ID: " + id);
-        }
-        offerRepository.deleteById(id);
+        applied(id, write(() -> offerRepository.deleteById(id, expectedVersion)));
+        activeOfferIndex.remove(id);
+        invalidateOffersCache();
     }
 
     @Override
-    public void deactivateOffer(int id) {
+    public void deactivateOffer(int id, Integer expectedVersion) {
         if (id <= 0) {
             throw new ValidationException("Offer ID must be positive");
         }
-        Offer offer = offerRepository.findById(id);
-        if (offer == null) {
-            throw new ValidationException("Offer not found with ID: " + id);
+        applied(id, write(() -> offerRepository.deactivateById(id, expectedVersion)));
+        activeOfferIndex.remove(id);
+        invalidateOffersCache();
+    }
+
+    /**
+     * A constraint violation (for example an unknown food item ID) surfaces
+     * from the write as a repository error and is reported as bad input; any
+     * other database failure propagates as a server error.
+     */
+    private static WriteResult<Offer> write(Supplier<WriteResult<Offer>> write) {
+        try {
+            return write.get();
+        } catch (RepositoryException e) {
+            if (e.isConstraintViolation()) {
+                throw new ValidationException("Offer write rejected by the database: " + e.getRootMessage());
+            }
+            throw e;
         }
-        offerRepository.deactivateById(id);
+    }
+
+    private static Offer applied(int id, WriteResult<Offer> result) {
+        return switch (result.getStatus()) {
+            case NOT_FOUND -> throw new NotFoundException("Offer not found with ID: " + id);
+            case CONFLICT -> throw new ConflictException("Offer " + id + " was modified concurrently; current version is "
+                    + result.getCurrentVersion(), result.getCurrentVersion());
+            case APPLIED -> result.getValue();
+        };
     }
 
     @Override
     public double getDiscountedPrice(int foodItemId, double originalPrice) {
-        List<Offer> activeOffers = offerRepository.findActiveOffers();
+        Offer offer = activeOfferIndex.findEffectiveOffer(foodItemId, LocalDate.now());
+        return offer != null ? offer.calculateDiscountedPrice(originalPrice) : originalPrice;
+    }
 
-        for (Offer offer : activeOffers) {
-            if (offer.getFoodItemId() == foodItemId && offer.isCurrentlyActive()) {
-                return offer.calculateDiscountedPrice(originalPrice);
-            }
-        }
+    @Override
+    public void onFoodItemsDeleted(Set<Integer> foodItemIds) {
+        foodItemIds.forEach(activeOfferIndex::removeFoodItem);
+        invalidateOffersCache();
+    }
 
-        return originalPrice;
+    @Override
+    public long getOffersVersion() {
+        return offersVersion.get();
     }
-}
 
+    @Override
+    public LocalDate getNextActiveOffersChange() {
+        return activeOfferIndex.nextBoundaryAfter(LocalDate.now());
+    }
+}
@@ -0,0 +1,166 @@
+package service;
+
+import logging.LoggerService;
+import metrics.LatencyHistogram;
+import utils.ThreadFactories;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Buffers price updates and writes them in periodic batches. Updates to the
+ * same key coalesce (last writer wins), so a burst of changes to one item
+ * costs one row in the next batch.
+ *
+ * An entry leaves the buffer only once its batch has committed, and only if
+ * no newer price replaced it in the meantime, so a failed flush is retried on
+ * the next tick and a concurrent update is never lost. A price whose row is
+ * gone by flush time (the item was deleted) is dropped, logged and counted in
+ * {@link WriteBehindStats#getUnmatchedEntries()}. Flushes run one at a
+ * time; the lag is the flush interval plus one flush, unless the database is
+ * failing, which {@link WriteBehindStats#getOldestPendingMillis()} shows.
+ */
+class PriceWriteBehind<K> {
+
+    private final Map<K, Pending> pending = new ConcurrentHashMap<>();
+    private final Function<Map<K, Double>, ? extends Collection<K>> writer;
+    private final int maxPending;
+    private final ScheduledThreadPoolExecutor flusher;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedEntries = new LongAdder();
+    private final LongAdder unmatchedEntries = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LoggerService logger = LoggerService.getInstance();
+
+    /**
+     * @param writer     applies one batch and returns the keys that matched no row; throws on failure
+     * @param maxPending buffered keys that trigger a flush ahead of the schedule
+     */
+    PriceWriteBehind(Function<Map<K, Double>, ? extends Collection<K>> writer, long flushIntervalMillis, int maxPending) {
+        this.writer = writer;
+        this.maxPending = Math.max(1, maxPending);
+        this.flusher = new ScheduledThreadPoolExecutor(1, ThreadFactories.background("price-write-behind-"));
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    void submit(K key, double price) {
+        updates.increment();
+        // Lag is measured from the oldest write still unflushed for this key.
+        pending.merge(key, new Pending(price, System.nanoTime()), (previous, latest) -> {
+            coalesced.increment();
+            return new Pending(latest.price, previous.sinceNanos);
+        });
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * The buffered price for {@code key}, or null if it has none.
+     */
+    Double pendingPrice(K key) {
+        Pending update = pending.get(key);
+        return update != null ? update.price : null;
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Writes everything buffered so far.
+     *
+     * @throws RuntimeException whatever the writer threw; the entries stay buffered
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            if (pending.isEmpty()) {
+                return;
+            }
+            Map<K, Pending> batch = new HashMap<>(pending);
+            Map<K, Double> prices = new HashMap<>(batch.size() * 2);
+            batch.forEach((key, update) -> prices.put(key, update.price));
+
+            long start = System.nanoTime();
+            Collection<K> unmatched;
+            try {
+                unmatched = writer.apply(prices);
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                throw e;
+            } finally {
+                flushLatency.recordNanos(System.nanoTime() - start);
+            }
+            flushes.increment();
+            flushedEntries.add(batch.size() - unmatched.size());
+            if (!unmatched.isEmpty()) {
+                unmatchedEntries.add(unmatched.size());
+                logger.warn("Write-behind dropped {} prices for rows that no longer exist: {}", unmatched.size(), unmatched);
+            }
+            batch.forEach(pending::remove);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Write-behind flush of {} prices failed; retrying next tick", pending.size(), e);
+        }
+    }
+
+    /**
+     * Stops the schedule and writes what is left. Called on shutdown.
+     */
+    void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Write-behind could not write {} prices on shutdown: {}", pending.size(), pending.keySet(), e);
+        }
+    }
+
+    WriteBehindStats stats() {
+        long oldest = Long.MAX_VALUE;
+        for (Pending update : pending.values()) {
+            oldest = Math.min(oldest, update.sinceNanos);
+        }
+        long oldestMillis = oldest == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+        return new WriteBehindStats(pending.size(), oldestMillis, updates.sum(), coalesced.sum(), flushes.sum(),
+                flushedEntries.sum(), unmatchedEntries.sum(), failedFlushes.sum(), flushLatency.snapshot());
+    }
+
+    private static final class Pending {
+        private final double price;
+        private final long sinceNanos;
+
+        private Pending(double price, long sinceNanos) {
+            this.price = price;
+            this.sinceNanos = sinceNanos;
+        }
+    }
+}
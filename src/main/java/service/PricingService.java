@@ -0,0 +1,11 @@
+package service;
+
+import dto.QuoteLineRequest;
+import dto.QuoteResponse;
+
+import java.util.List;
+
+public interface PricingService {
+
+    QuoteResponse quote(List<QuoteLineRequest> lines);
+}
@@ -0,0 +1,100 @@
+package service;
+
+import dto.QuoteLineRequest;
+import dto.QuoteLineResponse;
+import dto.QuoteResponse;
+import exception.ValidationException;
+import model.FoodItem;
+import model.Offer;
+import org.springframework.stereotype.Service;
+import repository.FoodItemRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prices a whole basket with one bulk food item query; offers come from the
+ * in-memory ActiveOfferIndex. Line amounts are rounded to cents.
+ */
+@Service
+public class PricingServiceImpl implements PricingService {
+
+    private final FoodItemRepository foodItemRepository;
+    private final ActiveOfferIndex activeOfferIndex;
+
+    public PricingServiceImpl(FoodItemRepository foodItemRepository, ActiveOfferIndex activeOfferIndex) {
+        this.foodItemRepository = foodItemRepository;
+        this.activeOfferIndex = activeOfferIndex;
+    }
+
+    @Override
+    public QuoteResponse quote(List<QuoteLineRequest> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new ValidationException("Quote must contain at least one line");
+        }
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (QuoteLineRequest line : lines) {
+            if (line.getFoodItemId() <= 0 || line.getQuantity() <= 0) {
+                throw new ValidationException("Food item ID and quantity must be positive");
+            }
+            ids.add(line.getFoodItemId());
+        }
+
+        Map<Integer, FoodItem> items = new HashMap<>();
+        for (FoodItem item : foodItemRepository.findByIds(ids)) {
+            items.put(item.getId(), item);
+        }
+        ids.removeAll(items.keySet());
+        if (!ids.isEmpty()) {
+            throw new ValidationException("Food items not found with IDs: " + ids);
+        }
+
+        LocalDate today = LocalDate.now();
+        List<QuoteLineResponse> priced = new ArrayList<>(lines.size());
+        BigDecimal totalOriginal = BigDecimal.ZERO;
+        BigDecimal totalEffective = BigDecimal.ZERO;
+        for (QuoteLineRequest line : lines) {
+            FoodItem item = items.get(line.getFoodItemId());
+            Offer offer = activeOfferIndex.findEffectiveOffer(item.getId(), today);
+            double unitPrice = item.calculatePrice();
+            double discountedUnit = offer != null ? offer.calculateDiscountedPrice(unitPrice) : unitPrice;
+
+            BigDecimal quantity = BigDecimal.valueOf(line.getQuantity());
+            BigDecimal original = cents(BigDecimal.valueOf(unitPrice).multiply(quantity));
+            BigDecimal effective = cents(BigDecimal.valueOf(discountedUnit).multiply(quantity));
+
+            QuoteLineResponse resp = new QuoteLineResponse();
+            resp.setFoodItemId(item.getId());
+            resp.setName(item.getName());
+            resp.setQuantity(line.getQuantity());
+            resp.setUnitPrice(unitPrice);
+            resp.setOfferId(offer != null ? offer.getId() : null);
+            resp.setDiscountPercentage(offer != null ? offer.getDiscountPercentage() : 0);
+            resp.setOriginalPrice(original.doubleValue());
+            resp.setDiscount(original.subtract(effective).doubleValue());
+            resp.setEffectivePrice(effective.doubleValue());
+            priced.add(resp);
+
+            totalOriginal = totalOriginal.add(original);
+            totalEffective = totalEffective.add(effective);
+        }
+
+        QuoteResponse quote = new QuoteResponse();
+        quote.setLines(priced);
+        quote.setTotalOriginal(totalOriginal.doubleValue());
+        quote.setTotalDiscount(totalOriginal.subtract(totalEffective).doubleValue());
+        quote.setTotalEffective(totalEffective.doubleValue());
+        return quote;
+    }
+
+    private static BigDecimal cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,34 @@
+package service;
+
+import dto.PageResponse;
+import model.FoodItem;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link FoodItemService} used by the "reactive" profile.
+ * Validation failures are signalled as errors on the returned publisher.
+ */
+public interface ReactiveFoodItemService {
+
+    Mono<FoodItem> addFoodItem(FoodItem item);
+
+    Mono<List<FoodItem>> getAllFoodItems();
+
+    Mono<PageResponse<FoodItem>> getFoodItemsPage(String cursor, Integer limit);
+
+    /**
+     * Bypasses the cache and emits rows as the driver delivers them.
+     */
+    Flux<FoodItem> streamAllFoodItems();
+
+    Mono<PageResponse<FoodItem>> getFoodItemsSortedByNamePage(String cursor, Integer limit);
+
+    Mono<FoodItem> getFoodItemById(int id);
+
+    Mono<Void> updatePriceById(int id, double price);
+
+    Mono<Void> deleteFoodItemById(int id);
+}
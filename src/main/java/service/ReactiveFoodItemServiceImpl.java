@@ -0,0 +1,144 @@
+package service;
+
+import cache.CacheKeys;
+import cache.InMemoryCacheManager;
+import dto.PageResponse;
+import exception.FoodItemNotValidException;
+import exception.NotFoundException;
+import model.FoodItem;
+import model.Validatable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import repository.ReactiveFoodItemRepository;
+import utils.PageCursor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shares the in-memory cache and its keys with {@link FoodItemServiceImpl}, but
+ * only reads through it and drops entries on writes instead of patching them:
+ * the servlet and reactive stacks never run in the same process, so there is
+ * no second writer to keep in step.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveFoodItemServiceImpl implements ReactiveFoodItemService {
+
+    private final ReactiveFoodItemRepository repository;
+    private final InMemoryCacheManager cache = InMemoryCacheManager.getInstance();
+
+    public ReactiveFoodItemServiceImpl(ReactiveFoodItemRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Mono<FoodItem> addFoodItem(FoodItem item) {
+        if (!Validatable.isValid(item)) {
+            return Mono.error(new FoodItemNotValidException("Invalid food item: " + item.validationMessage()));
+        }
+        return repository.save(item)
+                .doOnNext(saved -> cache.remove(CacheKeys.FOOD_ITEMS_ALL));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<List<FoodItem>> getAllFoodItems() {
+        List<FoodItem> cached = (List<FoodItem>) cache.get(CacheKeys.FOOD_ITEMS_ALL);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return repository.findAll()
+                .collectList()
+                .map(Collections::unmodifiableList)
+                .doOnNext(items -> cache.put(CacheKeys.FOOD_ITEMS_ALL, items));
+    }
+
+    @Override
+    public Mono<PageResponse<FoodItem>> getFoodItemsPage(String cursor, Integer limit) {
+        int pageSize = PageCursor.resolveLimit(limit);
+        // One extra row tells us whether another page exists without a COUNT query.
+        return repository.findPage(PageCursor.parseId(cursor), pageSize + 1)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= pageSize) {
+                        return new PageResponse<>(rows, null, pageSize);
+                    }
+                    List<FoodItem> page = rows.subList(0, pageSize);
+                    return new PageResponse<>(page, PageCursor.ofId(page.get(pageSize - 1).getId()), pageSize);
+                });
+    }
+
+    @Override
+    public Flux<FoodItem> streamAllFoodItems() {
+        return repository.findAll();
+    }
+
+    @Override
+    public Mono<PageResponse<FoodItem>> getFoodItemsSortedByNamePage(String cursor, Integer limit) {
+        int pageSize = PageCursor.resolveLimit(limit);
+        PageCursor.NamePosition after = PageCursor.parseName(cursor);
+        Flux<FoodItem> rows = after == null
+                ? repository.findPageSortedByName(null, 0, pageSize + 1)
+                : repository.findPageSortedByName(after.getName(), after.getId(), pageSize + 1);
+        return rows.collectList()
+                .map(list -> {
+                    if (list.size() <= pageSize) {
+                        return new PageResponse<>(list, null, pageSize);
+                    }
+                    List<FoodItem> page = list.subList(0, pageSize);
+                    FoodItem last = page.get(pageSize - 1);
+                    return new PageResponse<>(page, PageCursor.ofName(last.getName(), last.getId()), pageSize);
+                });
+    }
+
+    @Override
+    public Mono<FoodItem> getFoodItemById(int id) {
+        if (id <= 0) {
+            return Mono.error(new FoodItemNotValidException("ID must be positive"));
+        }
+        FoodItem cached = (FoodItem) cache.get(CacheKeys.foodItem(id));
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return repository.findById(id)
+                .doOnNext(item -> cache.put(CacheKeys.foodItem(id), item))
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Food item not found with ID: " + id)));
+    }
+
+    @Override
+    public Mono<Void> updatePriceById(int id, double price) {
+        if (id <= 0) {
+            return Mono.error(new FoodItemNotValidException("ID must be positive"));
+        }
+        if (price <= 0) {
+            return Mono.error(new FoodItemNotValidException("Price must be positive"));
+        }
+        return repository.updatePriceById(id, price)
+                .flatMap(rows -> rows == 0
+                        ? Mono.<Void>error(new NotFoundException("Food item not found with ID: " + id))
+                        : Mono.fromRunnable(() -> invalidate(id)));
+    }
+
+    @Override
+    public Mono<Void> deleteFoodItemById(int id) {
+        if (id <= 0) {
+            return Mono.error(new FoodItemNotValidException("ID must be positive"));
+        }
+        return repository.deleteById(id)
+                .flatMap(rows -> rows == 0
+                        ? Mono.<Void>error(new NotFoundException("Food item not found with ID: " + id))
+                        : Mono.fromRunnable(() -> {
+                            invalidate(id);
+                            // The item's offers went with it (ON DELETE CASCADE).
+                            cache.removeByPrefix(CacheKeys.OFFERS_PREFIX);
+                        }));
+    }
+
+    private void invalidate(int id) {
+        cache.remove(CacheKeys.foodItem(id));
+        cache.remove(CacheKeys.FOOD_ITEMS_ALL);
+    }
+}
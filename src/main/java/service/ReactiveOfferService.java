@@ -0,0 +1,32 @@
+package service;
+
+import dto.PageResponse;
+import model.Offer;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link OfferService} used by the "reactive" profile.
+ * Validation failures are signalled as errors on the returned publisher.
+ */
+public interface ReactiveOfferService {
+
+    Mono<Offer> addOffer(Offer offer);
+
+    Mono<List<Offer>> getAllOffers();
+
+    Mono<PageResponse<Offer>> getOffersPage(String cursor, Integer limit);
+
+    Mono<List<Offer>> getOffersByFoodItemId(int foodItemId);
+
+    Mono<List<Offer>> getActiveOffers();
+
+    Mono<Offer> getOfferById(int id);
+
+    Mono<Offer> updateOffer(Offer offer, Integer expectedVersion);
+
+    Mono<Void> deleteOffer(int id, Integer expectedVersion);
+
+    Mono<Void> deactivateOffer(int id, Integer expectedVersion);
+}
@@ -0,0 +1,168 @@
+package service;
+
+import cache.CacheKeys;
+import cache.InMemoryCacheManager;
+import dto.PageResponse;
+import exception.ConflictException;
+import exception.NotFoundException;
+import exception.RepositoryException;
+import exception.ValidationException;
+import model.Offer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import repository.ReactiveFoodItemRepository;
+import repository.ReactiveOfferRepository;
+import repository.WriteResult;
+import utils.PageCursor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Same rules and cache keys as {@link OfferServiceImpl}. The active set is
+ * cached until midnight rather than until the next offer boundary, since the
+ * reactive stack does not keep an {@link ActiveOfferIndex}.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveOfferServiceImpl implements ReactiveOfferService {
+
+    private final ReactiveOfferRepository offerRepository;
+    private final ReactiveFoodItemRepository foodItemRepository;
+    private final InMemoryCacheManager cache = InMemoryCacheManager.getInstance();
+
+    public ReactiveOfferServiceImpl(ReactiveOfferRepository offerRepository,
+                                    ReactiveFoodItemRepository foodItemRepository) {
+        this.offerRepository = offerRepository;
+        this.foodItemRepository = foodItemRepository;
+    }
+
+    @Override
+    public Mono<Offer> addOffer(Offer offer) {
+        if (!offer.validate()) {
+            return Mono.error(new ValidationException("Invalid offer data"));
+        }
+        if (offer.getFoodItemId() <= 0) {
+            return Mono.error(new ValidationException("Food item ID must be positive"));
+        }
+        return foodItemRepository.findById(offer.getFoodItemId())
+                .switchIfEmpty(Mono.error(() ->
+                        new ValidationException("Food item not found with ID: " + offer.getFoodItemId())))
+                .then(offerRepository.save(offer))
+                .doOnNext(saved -> invalidateOffersCache());
+    }
+
+    @Override
+    public Mono<List<Offer>> getAllOffers() {
+        return cached(CacheKeys.OFFERS_ALL, offerRepository::findAll, null);
+    }
+
+    @Override
+    public Mono<PageResponse<Offer>> getOffersPage(String cursor, Integer limit) {
+        int pageSize = PageCursor.resolveLimit(limit);
+        return offerRepository.findPage(PageCursor.parseId(cursor), pageSize + 1)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= pageSize) {
+                        return new PageResponse<>(rows, null, pageSize);
+                    }
+                    List<Offer> page = rows.subList(0, pageSize);
+                    return new PageResponse<>(page, PageCursor.ofId(page.get(pageSize - 1).getId()), pageSize);
+                });
+    }
+
+    @Override
+    public Mono<List<Offer>> getOffersByFoodItemId(int foodItemId) {
+        if (foodItemId <= 0) {
+            return Mono.error(new ValidationException("Food item ID must be positive"));
+        }
+        return cached(CacheKeys.offersByFoodItem(foodItemId),
+                () -> offerRepository.findByFoodItemId(foodItemId), null);
+    }
+
+    @Override
+    public Mono<List<Offer>> getActiveOffers() {
+        LocalDate today = LocalDate.now();
+        Duration untilMidnight = Duration.between(LocalDateTime.now(), today.plusDays(1).atStartOfDay());
+        return cached(CacheKeys.OFFERS_ACTIVE, () -> offerRepository.findActiveOffers(today), untilMidnight);
+    }
+
+    @Override
+    public Mono<Offer> getOfferById(int id) {
+        if (id <= 0) {
+            return Mono.error(new ValidationException("Offer ID must be positive"));
+        }
+        return offerRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Offer not found with ID: " + id)));
+    }
+
+    @Override
+    public Mono<Offer> updateOffer(Offer offer, Integer expectedVersion) {
+        if (offer.getId() <= 0) {
+            return Mono.error(new ValidationException("Offer ID must be positive"));
+        }
+        if (!offer.validate()) {
+            return Mono.error(new ValidationException("Invalid offer data"));
+        }
+        return applied(offer.getId(), offerRepository.update(offer, expectedVersion));
+    }
+
+    @Override
+    public Mono<Void> deleteOffer(int id, Integer expectedVersion) {
+        if (id <= 0) {
+            return Mono.error(new ValidationException("Offer ID must be positive"));
+        }
+        return applied(id, offerRepository.deleteById(id, expectedVersion)).then();
+    }
+
+    @Override
+    public Mono<Void> deactivateOffer(int id, Integer expectedVersion) {
+        if (id <= 0) {
+            return Mono.error(new ValidationException("Offer ID must be positive"));
+        }
+        return applied(id, offerRepository.deactivateById(id, expectedVersion)).then();
+    }
+
+    private Mono<Offer> applied(int id, Mono<WriteResult<Offer>> write) {
+        return write
+                .onErrorMap(e -> e instanceof RepositoryException repositoryError && repositoryError.isConstraintViolation(),
+                        e -> new ValidationException("Offer write rejected by the database: "
+                                + ((RepositoryException) e).getRootMessage()))
+                .flatMap(result -> switch (result.getStatus()) {
+                    case NOT_FOUND -> Mono.<Offer>error(new NotFoundException("Offer not found with ID: " + id));
+                    case CONFLICT -> Mono.<Offer>error(new ConflictException("Offer " + id
+                            + " was modified concurrently; current version is " + result.getCurrentVersion(),
+                            result.getCurrentVersion()));
+                    case APPLIED -> Mono.just(result.getValue());
+                })
+                .doOnNext(written -> invalidateOffersCache());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<List<Offer>> cached(String key, Supplier<Flux<Offer>> loader, Duration ttl) {
+        List<Offer> cached = (List<Offer>) cache.get(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return loader.get()
+                .collectList()
+                .map(Collections::unmodifiableList)
+                .doOnNext(offers -> {
+                    if (ttl == null) {
+                        cache.put(key, offers);
+                    } else {
+                        cache.put(key, offers, ttl);
+                    }
+                });
+    }
+
+    private void invalidateOffersCache() {
+        cache.removeByPrefix(CacheKeys.OFFERS_PREFIX);
+    }
+}
@@ -0,0 +1,113 @@
+package service;
+
+import model.FoodItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Name-ordered snapshot of the catalog, kept in step with writes instead of
+ * being re-sorted per request.
+ *
+ * Readers get an immutable list; every change builds a new one, so a write
+ * costs one array copy plus a binary search, never a sort.
+ */
+class SortedFoodItemView {
+
+    static final Comparator<FoodItem> BY_NAME = Comparator
+            .comparing((FoodItem item) -> item.getName().toLowerCase(Locale.ROOT))
+            .thenComparingInt(FoodItem::getId);
+
+    // Not synchronized: the first load runs a query, and a monitor would pin a virtual thread for it.
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile List<FoodItem> items;
+
+    List<FoodItem> get(Supplier<List<FoodItem>> loader) {
+        List<FoodItem> current = items;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (items == null) {
+                // The database already returns lower(name) order; sorting again
+                // aligns it with BY_NAME so later binary searches stay exact.
+                List<FoodItem> loaded = new ArrayList<>(loader.get());
+                loaded.sort(BY_NAME);
+                items = Collections.unmodifiableList(loaded);
+            }
+            return items;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void insert(List<FoodItem> added) {
+        lock.lock();
+        try {
+            if (items == null) {
+                return;
+            }
+            List<FoodItem> copy = new ArrayList<>(items.size() + added.size());
+            copy.addAll(items);
+            for (FoodItem item : added) {
+                int index = Collections.binarySearch(copy, item, BY_NAME);
+                if (index >= 0) {
+                    // Already picked up by a load that ran after the insert was committed.
+                    copy.set(index, item);
+                } else {
+                    copy.add(-index - 1, item);
+                }
+            }
+            items = Collections.unmodifiableList(copy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Price changes never move an item, so matching entries are swapped in place.
+     */
+    void replacePrice(Predicate<FoodItem> match, double newPrice) {
+        lock.lock();
+        try {
+            if (items == null) {
+                return;
+            }
+            List<FoodItem> copy = new ArrayList<>(items);
+            copy.replaceAll(item -> match.test(item) ? item.withPrice(newPrice) : item);
+            items = Collections.unmodifiableList(copy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(Predicate<FoodItem> match) {
+        lock.lock();
+        try {
+            if (items == null) {
+                return;
+            }
+            List<FoodItem> copy = new ArrayList<>(items);
+            copy.removeIf(match);
+            items = Collections.unmodifiableList(copy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void reset() {
+        lock.lock();
+        try {
+            items = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package service;
+
+import metrics.LatencyHistogram;
+
+/**
+ * Point-in-time view of the price write-behind buffer.
+ */
+public class WriteBehindStats {
+
+    private final int pending;
+    private final long oldestPendingMillis;
+    private final long updates;
+    private final long coalesced;
+    private final long flushes;
+    private final long flushedEntries;
+    private final long unmatchedEntries;
+    private final long failedFlushes;
+    private final long flushCount;
+    private final double flushMeanMillis;
+    private final double flushP99Millis;
+    private final double flushMaxMillis;
+
+    public WriteBehindStats(int pending, long oldestPendingMillis, long updates, long coalesced, long flushes,
+                            long flushedEntries, long unmatchedEntries, long failedFlushes,
+                            LatencyHistogram.Snapshot flushLatency) {
+        this.pending = pending;
+        this.oldestPendingMillis = oldestPendingMillis;
+        this.updates = updates;
+        this.coalesced = coalesced;
+        this.flushes = flushes;
+        this.flushedEntries = flushedEntries;
+        this.unmatchedEntries = unmatchedEntries;
+        this.failedFlushes = failedFlushes;
+        this.flushCount = flushLatency.getCount();
+        this.flushMeanMillis = flushLatency.getMeanMicros() / 1_000.0;
+        this.flushP99Millis = flushLatency.valueAtQuantile(0.99) / 1_000.0;
+        this.flushMaxMillis = flushLatency.getMaxMicros() / 1_000.0;
+    }
+
+    /**
+     * Keys waiting to be written (the queue depth after coalescing).
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * Age of the oldest unwritten update; stays near the flush interval unless flushes fail.
+     */
+    public long getOldestPendingMillis() {
+        return oldestPendingMillis;
+    }
+
+    public long getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Updates that replaced a still-pending price for the same key.
+     */
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    public long getFlushedEntries() {
+        return flushedEntries;
+    }
+
+    /**
+     * Flushed prices whose row no longer existed, i.e. updates that were lost.
+     */
+    public long getUnmatchedEntries() {
+        return unmatchedEntries;
+    }
+
+    public long getFailedFlushes() {
+        return failedFlushes;
+    }
+
+    /**
+     * Timed flush attempts, successful or not.
+     */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public double getFlushMeanMillis() {
+        return flushMeanMillis;
+    }
+
+    public double getFlushP99Millis() {
+        return flushP99Millis;
+    }
+
+    public double getFlushMaxMillis() {
+        return flushMaxMillis;
+    }
+}
@@ -0,0 +1,65 @@
+package utils;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+
+/**
+ * Streams rows into PostgreSQL with {@code COPY ... FROM STDIN (FORMAT csv)}.
+ *
+ * Rows are encoded into a fixed-size chunk and pushed to the server as soon
+ * as the chunk fills, so memory does not grow with the number of rows.
+ */
+public final class CsvCopy {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private CsvCopy() {
+    }
+
+    public static <T> long copyIn(Connection conn, String sql, Iterator<T> rows,
+                                  BiConsumer<T, StringBuilder> encoder) throws SQLException {
+        CopyIn copyIn = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 1024);
+        try {
+            while (rows.hasNext()) {
+                encoder.accept(rows.next(), chunk);
+                chunk.append('\n');
+                if (chunk.length() >= CHUNK_SIZE) {
+                    write(copyIn, chunk);
+                }
+            }
+            write(copyIn, chunk);
+            return copyIn.endCopy();
+        } catch (SQLException | RuntimeException e) {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a quoted CSV field; {@code null} becomes an unquoted empty field, which COPY reads as NULL.
+     */
+    public static void appendText(StringBuilder row, String value) {
+        if (value == null) {
+            return;
+        }
+        row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        if (chunk.length() == 0) {
+            return;
+        }
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+}
@@ -1,23 +1,181 @@
 package utils;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import config.DatabaseConfigManager;
+import metrics.JdbcInstrumentation;
+import metrics.SqlStatsRegistry;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * JDBC connection helper that uses the DatabaseConfigManager Singleton.
+ *
+ * Connections come from a bounded HikariCP pool, so closing a connection
+ * returns it to the pool instead of tearing down the socket. Unless
+ * {@code db.instrumentation.enabled} is false, the connection is wrapped so
+ * every statement is timed per SQL template ({@link SqlStatsRegistry}).
+ *
+ * Catalog streams hold their connection while the client reads, so they draw
+ * from a separate small pool ({@code db.stream.pool-size}) and slow readers
+ * cannot starve the main pool or trip its leak detection.
  */
 public class DatabaseConnection {
 
+    private static volatile HikariDataSource dataSource;
+    private static volatile HikariDataSource streamDataSource;
+
     public static Connection getConnection() throws SQLException {
-        DatabaseConfigManager config = DatabaseConfigManager.getInstance();
-        return DriverManager.getConnection(
-                config.getUrl(),
-                config.getUsername(),
-                config.getPassword()
+        Connection conn = getDataSource().getConnection();
+        return DatabaseConfigManager.getInstance().isInstrumentationEnabled()
+                ? JdbcInstrumentation.wrap(conn, SqlStatsRegistry.getInstance())
+                : conn;
+    }
+
+    /**
+     * A connection from the stream pool, for reads that stay open while the
+     * response is written. Fails after {@code db.stream.acquire-timeout-ms}
+     * when every stream connection is busy.
+     */
+    public static Connection getStreamConnection() throws SQLException {
+        Connection conn = getStreamDataSource().getConnection();
+        return DatabaseConfigManager.getInstance().isInstrumentationEnabled()
+                ? JdbcInstrumentation.wrap(conn, SqlStatsRegistry.getInstance())
+                : conn;
+    }
+
+    /**
+     * A pooled connection without statement timing, for work the
+     * instrumentation does itself (EXPLAIN of a slow query).
+     */
+    public static Connection getUninstrumentedConnection() throws SQLException {
+        return getDataSource().getConnection();
+    }
+
+    /**
+     * Opens connections up to the configured minimum so the first requests
+     * do not pay the TCP and authentication handshake.
+     */
+    public static void warmUp() throws SQLException {
+        HikariDataSource ds = getDataSource();
+        List<Connection> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < ds.getMinimumIdle(); i++) {
+                opened.add(ds.getConnection());
+            }
+        } finally {
+            for (Connection conn : opened) {
+                conn.close();
+            }
+        }
+    }
+
+    public static PoolStats getPoolStats() {
+        HikariDataSource ds = dataSource;
+        if (ds == null || ds.isClosed()) {
+            DatabaseConfigManager config = DatabaseConfigManager.getInstance();
+            return new PoolStats(0, 0, 0, 0, config.getPoolMinIdle(), config.getPoolMaxSize());
+        }
+        HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+        return new PoolStats(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection(),
+                ds.getMinimumIdle(),
+                ds.getMaximumPoolSize()
         );
     }
-}
 
+    public static synchronized void shutdown() {
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+        if (streamDataSource != null) {
+            streamDataSource.close();
+            streamDataSource = null;
+        }
+    }
+
+    private static HikariDataSource getDataSource() {
+        HikariDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DatabaseConnection.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    ds = createDataSource(DatabaseConfigManager.getInstance());
+                    dataSource = ds;
+                }
+            }
+        }
+        return ds;
+    }
+
+    private static HikariDataSource getStreamDataSource() {
+        HikariDataSource ds = streamDataSource;
+        if (ds == null) {
+            synchronized (DatabaseConnection.class) {
+                ds = streamDataSource;
+                if (ds == null) {
+                    ds = createStreamDataSource(DatabaseConfigManager.getInstance());
+                    streamDataSource = ds;
+                }
+            }
+        }
+        return ds;
+    }
+
+    /**
+     * Opened on first use and kept empty when idle. Leak detection fires only
+     * past the stream deadline, since a long export is expected to hold its
+     * connection.
+     */
+    private static HikariDataSource createStreamDataSource(DatabaseConfigManager config) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("food-delivery-stream-pool");
+        hikari.setJdbcUrl(config.getUrl());
+        hikari.setUsername(config.getUsername());
+        hikari.setPassword(config.getPassword());
+
+        hikari.setMinimumIdle(0);
+        hikari.setMaximumPoolSize(config.getStreamPoolSize());
+        hikari.setConnectionTimeout(config.getStreamAcquireTimeoutMs());
+        hikari.setIdleTimeout(config.getPoolIdleTimeoutMs());
+        hikari.setMaxLifetime(config.getPoolMaxLifetimeMs());
+        hikari.setLeakDetectionThreshold(config.getStreamMaxDurationMs() + config.getPoolLeakDetectionThresholdMs());
+        hikari.setInitializationFailTimeout(-1);
+        return new HikariDataSource(hikari);
+    }
+
+    private static HikariDataSource createDataSource(DatabaseConfigManager config) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("food-delivery-pool");
+        hikari.setJdbcUrl(config.getUrl());
+        hikari.setUsername(config.getUsername());
+        hikari.setPassword(config.getPassword());
+
+        hikari.setMinimumIdle(config.getPoolMinIdle());
+        hikari.setMaximumPoolSize(config.getPoolMaxSize());
+        hikari.setConnectionTimeout(config.getPoolConnectionTimeoutMs());
+        hikari.setIdleTimeout(config.getPoolIdleTimeoutMs());
+        hikari.setMaxLifetime(config.getPoolMaxLifetimeMs());
+        hikari.setLeakDetectionThreshold(config.getPoolLeakDetectionThresholdMs());
+        // Do not fail class initialization when the database is down; the pool keeps retrying.
+        hikari.setInitializationFailTimeout(-1);
+        hikari.setRegisterMbeans(true);
+
+        // PostgreSQL driver keeps server-side prepared statements per physical connection.
+        hikari.addDataSourceProperty("prepareThreshold", config.getPrepareThreshold());
+        hikari.addDataSourceProperty("preparedStatementCacheQueries", config.getStatementCacheQueries());
+        hikari.addDataSourceProperty("preparedStatementCacheSizeMiB", config.getStatementCacheSizeMiB());
+        // Lets the driver send JDBC insert batches as multi-row INSERT statements.
+        hikari.addDataSourceProperty("reWriteBatchedInserts", true);
+
+        return new HikariDataSource(hikari);
+    }
+}
@@ -0,0 +1,39 @@
+package utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Strong entity tags built from a collection's write version instead of a
+ * hash of the body, so a conditional GET can be answered before anything is
+ * loaded or serialized.
+ *
+ * Versions restart at 0 with the process, so every tag also carries a
+ * per-process nonce; a tag handed out before a restart never matches again.
+ */
+public final class ETags {
+
+    private static final String INSTANCE = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private ETags() {
+    }
+
+    public static String of(String collection, long version) {
+        return "\"" + collection + "-" + INSTANCE + "-" + version + "\"";
+    }
+
+    /**
+     * For representations that also change without a write, e.g. when a date passes.
+     */
+    public static String of(String collection, long version, Object qualifier) {
+        return "\"" + collection + "-" + INSTANCE + "-" + version + "-" + qualifier + "\"";
+    }
+
+    /**
+     * For bodies that can change without a write through this process, e.g. a
+     * cache reload that picks up rows written elsewhere: the tag is a digest of
+     * the bytes, so it needs no nonce.
+     */
+    public static String ofContent(String collection, String digest, Object qualifier) {
+        return "\"" + collection + "-" + digest + (qualifier == null ? "" : "-" + qualifier) + "\"";
+    }
+}
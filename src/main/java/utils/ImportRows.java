@@ -0,0 +1,240 @@
+package utils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import dto.ImportFormat;
+import dto.ImportReport;
+import exception.ValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Lazily reads NDJSON or CSV rows from a request body, binds each row to a
+ * request DTO and converts it to a domain object.
+ *
+ * Only the current line is held in memory. Rows that fail to parse or whose
+ * converter throws {@link ValidationException} are recorded in the report and
+ * skipped. CSV input needs a header row; quoted fields may contain commas and
+ * doubled quotes but not line breaks.
+ */
+public class ImportRows<T, R> implements Iterator<R> {
+
+    public static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final Reader in;
+    private final ImportFormat format;
+    private final Class<T> type;
+    private final Function<T, R> converter;
+    private final ImportReport report;
+
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private boolean eof;
+    private long lineNumber;
+    private List<String> header;
+    private R next;
+
+    public ImportRows(Reader in, ImportFormat format, Class<T> type,
+                      Function<T, R> converter, ImportReport report) {
+        this.in = in;
+        this.format = format;
+        this.type = type;
+        this.converter = converter;
+        this.report = report;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                String line = readLine();
+                if (line == null) {
+                    return false;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ImportFormat.CSV && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+                report.rowProcessed();
+                next = parseRow(line);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        R row = next;
+        next = null;
+        return row;
+    }
+
+    private R parseRow(String line) {
+        if (line.length() > MAX_LINE_LENGTH) {
+            report.reject(lineNumber, "Line exceeds " + MAX_LINE_LENGTH + " characters");
+            return null;
+        }
+        try {
+            T dto = format == ImportFormat.NDJSON
+                    ? MAPPER.readValue(line, type)
+                    : MAPPER.convertValue(toFieldMap(parseCsv(line)), type);
+            return converter.apply(dto);
+        } catch (IOException | IllegalArgumentException e) {
+            report.reject(lineNumber, "Malformed row: " + firstLine(e.getMessage()));
+        } catch (ValidationException e) {
+            report.reject(lineNumber, e.getMessage());
+        }
+        return null;
+    }
+
+    private Map<String, String> toFieldMap(List<String> values) {
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return fields;
+    }
+
+    /**
+     * Maps snake_case or camelCase column names to DTO property names.
+     */
+    private List<String> parseHeader(String line) {
+        List<String> names = new ArrayList<>();
+        for (String column : parseCsv(line)) {
+            StringBuilder name = new StringBuilder();
+            boolean upper = false;
+            for (char c : column.trim().toCharArray()) {
+                if (c == '_' || c == ' ') {
+                    upper = true;
+                } else {
+                    name.append(upper ? Character.toUpperCase(c) : c);
+                    upper = false;
+                }
+            }
+            names.add(name.toString());
+        }
+        return names;
+    }
+
+    static List<String> parseCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    /**
+     * Reads one line without trusting the client to keep lines short: once a
+     * line passes MAX_LINE_LENGTH the rest of it is discarded.
+     */
+    private String readLine() throws IOException {
+        StringBuilder line = null;
+        boolean overflow = false;
+        while (true) {
+            if (position >= limit) {
+                if (eof || !fill()) {
+                    eof = true;
+                    if (line == null) {
+                        return null;
+                    }
+                    break;
+                }
+            }
+            if (line == null) {
+                line = new StringBuilder();
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            if (!overflow) {
+                line.append(buffer, start, position - start);
+                if (line.length() > MAX_LINE_LENGTH) {
+                    overflow = true;
+                }
+            }
+            if (position < limit) {
+                position++;
+                break;
+            }
+        }
+        lineNumber++;
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "unreadable value";
+        }
+        int newline = message.indexOf('\n');
+        return newline >= 0 ? message.substring(0, newline) : message;
+    }
+}
@@ -0,0 +1,115 @@
+package utils;
+
+import config.AppConfigManager;
+import exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens for keyset pagination. Clients must treat the
+ * token as a black box; internally it is the last id of the previous page.
+ */
+public final class PageCursor {
+
+    private static final String ID_PREFIX = "id:";
+    private static final String NAME_PREFIX = "name:";
+
+    private PageCursor() {
+    }
+
+    public static String ofId(int lastId) {
+        return encode(ID_PREFIX + lastId);
+    }
+
+    /**
+     * Returns the id to continue after, or 0 for the first page.
+     */
+    public static int parseId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        String payload = decode(cursor);
+        if (!payload.startsWith(ID_PREFIX)) {
+            throw new ValidationException("Invalid page cursor");
+        }
+        try {
+            return Integer.parseInt(payload.substring(ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Cursor for name-ordered listings: the last row's id and name.
+     */
+    public static String ofName(String lastName, int lastId) {
+        return encode(NAME_PREFIX + lastId + ":" + lastName);
+    }
+
+    /**
+     * Returns the position to continue after, or null for the first page.
+     */
+    public static NamePosition parseName(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String payload = decode(cursor);
+        int separator = payload.indexOf(':', NAME_PREFIX.length());
+        if (!payload.startsWith(NAME_PREFIX) || separator < 0) {
+            throw new ValidationException("Invalid page cursor");
+        }
+        try {
+            int id = Integer.parseInt(payload.substring(NAME_PREFIX.length(), separator));
+            return new NamePosition(payload.substring(separator + 1), id);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Applies the configured default and maximum page size.
+     */
+    public static int resolveLimit(Integer requested) {
+        AppConfigManager config = AppConfigManager.getInstance();
+        if (requested == null) {
+            return config.getPageDefaultSize();
+        }
+        if (requested <= 0) {
+            throw new ValidationException("Page limit must be positive");
+        }
+        return Math.min(requested, config.getPageMaxSize());
+    }
+
+    public static class NamePosition {
+
+        private final String name;
+        private final int id;
+
+        public NamePosition(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package utils;
+
+/**
+ * Point-in-time snapshot of the JDBC connection pool.
+ */
+public class PoolStats {
+
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int threadsAwaiting;
+    private final int minIdle;
+    private final int maxSize;
+
+    public PoolStats(int active, int idle, int total, int threadsAwaiting, int minIdle, int maxSize) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.threadsAwaiting = threadsAwaiting;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getThreadsAwaiting() {
+        return threadsAwaiting;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Share of the maximum pool size currently checked out, from 0.0 to 1.0.
+     */
+    public double getSaturation() {
+        return maxSize > 0 ? (double) active / maxSize : 0.0;
+    }
+}
@@ -0,0 +1,63 @@
+package utils;
+
+import config.AppConfigManager;
+import logging.LoggerService;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the application's own background executors.
+ *
+ * With {@code spring.threads.virtual.enabled=true} on a JDK 21+ runtime,
+ * {@link #background} hands out virtual threads, the same switch that makes
+ * Spring Boot run Tomcat requests on virtual threads. Otherwise it returns
+ * named daemon platform threads, as before. Spring's multi-release
+ * {@link VirtualThreadTaskExecutor} is used so this still compiles for Java 17.
+ */
+public final class ThreadFactories {
+
+    private static final boolean VIRTUAL = resolveVirtual();
+
+    private ThreadFactories() {
+    }
+
+    public static boolean isVirtual() {
+        return VIRTUAL;
+    }
+
+    public static ThreadFactory background(String namePrefix) {
+        return VIRTUAL ? virtual(namePrefix) : daemon(namePrefix);
+    }
+
+    public static ThreadFactory daemon(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Virtual threads named {@code namePrefix0}, {@code namePrefix1}, ...
+     * Throws {@link UnsupportedOperationException} before JDK 21.
+     */
+    public static ThreadFactory virtual(String namePrefix) {
+        return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+    }
+
+    private static boolean resolveVirtual() {
+        if (!AppConfigManager.getInstance().isVirtualThreads()) {
+            return false;
+        }
+        int feature = Runtime.version().feature();
+        if (feature >= 21) {
+            return true;
+        }
+        LoggerService.getInstance().warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads;"
+                + " using platform threads", feature);
+        return false;
+    }
+}
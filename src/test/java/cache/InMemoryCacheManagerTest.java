@@ -0,0 +1,260 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class InMemoryCacheManagerTest {
+
+    private final InMemoryCacheManager cache = new InMemoryCacheManager(100, Duration.ofMinutes(5), 1);
+
+    @Test
+    void frequentKeySurvivesScanOfOneOffKeys() {
+        cache.put("hot", "value");
+        cache.put("warm", "value");
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(cache.get("hot"));
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("scan:" + i, i);
+        }
+
+        assertEquals("value", cache.get("hot"));
+        CacheStats stats = cache.stats();
+        assertTrue(stats.getWeight() <= 100, "weight " + stats.getWeight());
+        assertTrue(stats.getEvictions() > 0);
+    }
+
+    @Test
+    void collectionsWeighTheirSizeAndOversizedValuesAreNotStored() {
+        cache.put("small", Collections.nCopies(30, "x"));
+        assertEquals(30, cache.stats().getWeight());
+
+        cache.put("huge", Collections.nCopies(101, "x"));
+        assertNull(cache.get("huge"));
+        assertNotNull(cache.get("small"));
+
+        cache.put("small", Collections.nCopies(101, "x"));
+        assertNull(cache.get("small"), "an oversized overwrite must not leave the old value behind");
+        assertEquals(0, cache.stats().getWeight());
+    }
+
+    @Test
+    void concurrentMissesShareOneLoaderCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(
+                () -> cache.getOrLoad("key", () -> blockingLoad(calls, release, "loaded")));
+        awaitUntil(() -> cache.stats().getLoadsInFlight() == 1);
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> cache.getOrLoad("key", () -> blockingLoad(calls, release, "second")));
+        awaitUntil(() -> cache.stats().getCoalescedLoads() == 1);
+        release.countDown();
+
+        assertEquals("loaded", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("loaded", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals("loaded", cache.get("key"));
+    }
+
+    @Test
+    void followersSeeTheLoaderFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> cache.getOrLoad("key", () -> {
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        awaitUntil(() -> cache.stats().getLoadsInFlight() == 1);
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(
+                () -> cache.getOrLoad("key", () -> "unused"));
+        awaitUntil(() -> cache.stats().getCoalescedLoads() == 1);
+        release.countDown();
+
+        assertFailsWith(IllegalStateException.class, leader);
+        assertFailsWith(IllegalStateException.class, follower);
+        assertNull(cache.get("key"));
+        assertEquals(1, cache.stats().getLoadFailures());
+    }
+
+    @Test
+    void writeDuringLoadDiscardsTheLoadedValue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> load = CompletableFuture.supplyAsync(
+                () -> cache.getOrLoad("key", () -> blockingLoad(calls, release, "stale")));
+        awaitUntil(() -> cache.stats().getLoadsInFlight() == 1);
+        cache.remove("key");
+        release.countDown();
+
+        assertEquals("stale", load.get(5, TimeUnit.SECONDS));
+        assertNull(cache.get("key"));
+        assertEquals(1, cache.stats().getDiscardedStaleLoads());
+    }
+
+    @Test
+    void patchDuringLoadIsAppliedToTheLoadedValue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> load = CompletableFuture.supplyAsync(
+                () -> cache.getOrLoad("key", () -> blockingLoad(calls, release, "loaded")));
+        awaitUntil(() -> cache.stats().getLoadsInFlight() == 1);
+        cache.<String>computeIfPresent("key", value -> value + "-patched");
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> cache.getOrLoad("key", () -> blockingLoad(calls, release, "second")));
+        awaitUntil(() -> cache.stats().getCoalescedLoads() == 1);
+        release.countDown();
+
+        assertEquals("loaded-patched", load.get(5, TimeUnit.SECONDS));
+        assertEquals("loaded-patched", follower.get(5, TimeUnit.SECONDS));
+        assertEquals("loaded-patched", cache.get("key"));
+        assertEquals(1, calls.get(), "a patch must not detach the load");
+        assertEquals(0, cache.stats().getDiscardedStaleLoads());
+    }
+
+    @Test
+    void patchDuringBackgroundRefreshIsAppliedToBothValues() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        cache.setRefreshPolicy("key", new RefreshPolicy(Duration.ZERO, Duration.ofMinutes(5), Duration.ZERO));
+        cache.getOrLoad("key", () -> "old", value -> Duration.ofMillis(20));
+        Thread.sleep(50);
+
+        assertEquals("old", cache.getOrLoad("key", () -> blockingLoad(calls, release, "reloaded"),
+                value -> Duration.ofMinutes(5)));
+        awaitUntil(() -> calls.get() == 1);
+        cache.<String>computeIfPresent("key", value -> value + "-patched");
+        assertEquals("old-patched", cache.getOrLoad("key", () -> "unused"));
+        release.countDown();
+
+        awaitUntil(() -> "reloaded-patched".equals(cache.get("key")));
+    }
+
+    @Test
+    void writeDetachesLoadInFlightSoNextReaderLoadsAfresh() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(
+                () -> cache.getOrLoad("key", () -> blockingLoad(calls, release, "stale")));
+        awaitUntil(() -> cache.stats().getLoadsInFlight() == 1);
+        cache.remove("key");
+
+        assertEquals("fresh", cache.getOrLoad("key", () -> "fresh"));
+        assertEquals(0, cache.stats().getCoalescedLoads());
+
+        release.countDown();
+        stale.get(5, TimeUnit.SECONDS);
+        assertEquals("fresh", cache.get("key"));
+    }
+
+    @Test
+    void removeByPrefixFencesOnlyMatchingKeys() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        cache.put("other:1", "kept");
+
+        CompletableFuture<String> load = CompletableFuture.supplyAsync(
+                () -> cache.getOrLoad("page:1", () -> blockingLoad(calls, release, "stale")));
+        awaitUntil(() -> cache.stats().getLoadsInFlight() == 1);
+        cache.removeByPrefix("page:");
+        release.countDown();
+
+        load.get(5, TimeUnit.SECONDS);
+        assertNull(cache.get("page:1"));
+        assertEquals("kept", cache.get("other:1"));
+    }
+
+    @Test
+    void staleIfErrorServesOldValueWhenLoaderFails() throws Exception {
+        cache.setRefreshPolicy("key", new RefreshPolicy(Duration.ZERO, Duration.ZERO, Duration.ofMinutes(5)));
+        cache.getOrLoad("key", () -> "old", value -> Duration.ofMillis(20));
+        Thread.sleep(50);
+
+        assertNull(cache.get("key"), "a plain read must not see a value past its TTL");
+        assertEquals("old", cache.getOrLoad("key", () -> {
+            throw new IllegalStateException("database down");
+        }));
+        assertEquals(1, cache.stats().getStaleServedOnError());
+
+        assertEquals("new", cache.getOrLoad("key", () -> "new"));
+        assertEquals("new", cache.get("key"));
+    }
+
+    @Test
+    void invalidatedKeyIsNeverServedStale() throws Exception {
+        cache.setRefreshPolicy("key", new RefreshPolicy(Duration.ZERO, Duration.ZERO, Duration.ofMinutes(5)));
+        cache.getOrLoad("key", () -> "old", value -> Duration.ofMillis(20));
+        Thread.sleep(50);
+        cache.remove("key");
+
+        assertThrows(IllegalStateException.class, () -> cache.getOrLoad("key", () -> {
+            throw new IllegalStateException("database down");
+        }));
+        assertEquals(0, cache.stats().getStaleServedOnError());
+    }
+
+    @Test
+    void staleWhileRevalidateReturnsOldValueAndReloadsInBackground() throws Exception {
+        cache.setRefreshPolicy("key", new RefreshPolicy(Duration.ZERO, Duration.ofMinutes(5), Duration.ZERO));
+        cache.getOrLoad("key", () -> "old", value -> Duration.ofMillis(20));
+        Thread.sleep(50);
+
+        assertEquals("old", cache.getOrLoad("key", () -> "new", value -> Duration.ofMinutes(5)));
+        awaitUntil(() -> "new".equals(cache.get("key")));
+        assertEquals(1, cache.stats().getRefreshes());
+    }
+
+    private static String blockingLoad(AtomicInteger calls, CountDownLatch release, String value) {
+        calls.incrementAndGet();
+        await(release);
+        return value;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("latch not released");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void assertFailsWith(Class<? extends Throwable> type, CompletableFuture<?> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("expected " + type.getSimpleName());
+        } catch (Exception e) {
+            assertTrue(type.isInstance(e.getCause()), "unexpected failure: " + e);
+        }
+    }
+}
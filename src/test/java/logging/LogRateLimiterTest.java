@@ -0,0 +1,89 @@
+package logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRateLimiterTest {
+
+    private static final long T0 = 1_000_000;
+
+    @Test
+    void eachSiteGetsItsOwnPermitsPerWindow() {
+        LogRateLimiter limiter = new LogRateLimiter(2, 0);
+
+        assertTrue(limiter.tryAcquire("a", T0));
+        assertTrue(limiter.tryAcquire("a", T0 + 10));
+        assertFalse(limiter.tryAcquire("a", T0 + 20));
+        assertTrue(limiter.tryAcquire("b", T0 + 20), "another call site is not affected");
+
+        assertTrue(limiter.tryAcquire("a", T0 + 1000), "a new window starts after a second");
+        assertEquals(1, limiter.getTotalSuppressed());
+    }
+
+    @Test
+    void everyNthRecordOverTheLimitIsSampledThrough() {
+        LogRateLimiter limiter = new LogRateLimiter(1, 3);
+        assertTrue(limiter.tryAcquire("a", T0));
+
+        int admitted = 0;
+        for (int i = 0; i < 9; i++) {
+            if (limiter.tryAcquire("a", T0)) {
+                admitted++;
+            }
+        }
+
+        assertEquals(3, admitted);
+        assertEquals(6, limiter.getTotalSuppressed());
+    }
+
+    @Test
+    void drainReportsEachSiteOnceAndResets() {
+        LogRateLimiter limiter = new LogRateLimiter(1, 0);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("a", T0);
+            limiter.tryAcquire("b", T0);
+        }
+        limiter.tryAcquire("c", T0);
+        Map<String, Long> reported = new HashMap<>();
+
+        limiter.drainSuppressed(reported::put);
+        assertEquals(Map.of("a", 3L, "b", 3L), reported);
+
+        reported.clear();
+        limiter.drainSuppressed(reported::put);
+        assertTrue(reported.isEmpty());
+        assertEquals(6, limiter.getTotalSuppressed(), "the running total is not reset");
+    }
+
+    @Test
+    void zeroPermitsDisablesTheLimit() {
+        LogRateLimiter limiter = new LogRateLimiter(1, 0);
+        limiter.tryAcquire("a", T0);
+        assertFalse(limiter.tryAcquire("a", T0));
+
+        limiter.setPermitsPerSecond(0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire("a", T0));
+        }
+    }
+
+    @Test
+    void sitesBeyondTheCapShareOneOverflowSite() {
+        LogRateLimiter limiter = new LogRateLimiter(1, 0);
+        for (int i = 0; i < 1024; i++) {
+            assertTrue(limiter.tryAcquire("site-" + i, T0));
+        }
+
+        assertTrue(limiter.tryAcquire("late-1", T0));
+        assertFalse(limiter.tryAcquire("late-2", T0), "new sites past the cap share one budget");
+        Map<String, Long> reported = new HashMap<>();
+        limiter.drainSuppressed(reported::put);
+        assertEquals(Map.of("(other call sites)", 1L), reported);
+    }
+}
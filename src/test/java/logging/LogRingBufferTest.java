@@ -0,0 +1,107 @@
+package logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRingBufferTest {
+
+    @Test
+    void capacityRoundsUpToAPowerOfTwo() {
+        assertEquals(8, new LogRingBuffer(5).capacity());
+        assertEquals(8, new LogRingBuffer(8).capacity());
+        assertEquals(2, new LogRingBuffer(0).capacity());
+    }
+
+    @Test
+    void drainHandsOverRecordsOldestFirstAndRespectsMax() {
+        LogRingBuffer buffer = new LogRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(buffer.offer(i, "INFO", "m" + i));
+        }
+        List<String> out = new ArrayList<>();
+
+        assertEquals(3, buffer.drain((ts, level, message) -> out.add(ts + ":" + message), 3));
+        assertEquals(List.of("0:m0", "1:m1", "2:m2"), out);
+        assertEquals(2, buffer.size());
+
+        assertEquals(2, buffer.drain((ts, level, message) -> out.add(ts + ":" + message), 10));
+        assertEquals(0, buffer.drain((ts, level, message) -> out.add(message), 10));
+        assertEquals(5, out.size());
+    }
+
+    @Test
+    void fullBufferRejectsUntilDrained() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i, "INFO", "m" + i));
+        }
+
+        assertFalse(buffer.offer(4, "INFO", "overflow"));
+
+        buffer.drain((ts, level, message) -> { }, 1);
+        assertTrue(buffer.offer(5, "INFO", "m5"), "a drained slot is reused after wrapping");
+        List<String> out = new ArrayList<>();
+        buffer.drain((ts, level, message) -> out.add(message), 10);
+        assertEquals(List.of("m1", "m2", "m3", "m5"), out);
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        LogRingBuffer buffer = new LogRingBuffer(64);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(i, "INFO", producer + ":" + i)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        Set<String> seen = new HashSet<>();
+        int[] lastByProducer = new int[producers];
+        Arrays.fill(lastByProducer, -1);
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            int drained = buffer.drain((ts, level, message) -> {
+                assertTrue(seen.add(message), "duplicate " + message);
+                int producer = Integer.parseInt(message.substring(0, message.indexOf(':')));
+                assertTrue(ts > lastByProducer[producer], "out of order for producer " + producer);
+                lastByProducer[producer] = (int) ts;
+            }, 256);
+            if (drained == 0) {
+                Thread.yield();
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(producers * perProducer, seen.size());
+        assertEquals(0, buffer.size());
+    }
+}
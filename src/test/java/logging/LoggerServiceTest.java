@@ -0,0 +1,38 @@
+package logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoggerServiceTest {
+
+    @Test
+    void formatFillsPlaceholdersInOrder() {
+        assertEquals("a=1 b=2", LoggerService.format("a={} b={}", 1, 2));
+        assertEquals("no args {}", LoggerService.format("no args {}"));
+        assertEquals("x=null", LoggerService.format("x={}", (Object) null));
+        assertEquals("only 1", LoggerService.format("only {}", 1, 2));
+    }
+
+    @Test
+    void recordLoggedWhileWriterIsIdleIsWrittenPromptly() throws Exception {
+        LoggerService logger = LoggerService.getInstance();
+        for (int i = 0; i < 3; i++) {
+            // Long enough for the writer to have drained everything and parked.
+            Thread.sleep(100);
+            long written = logger.getWrittenCount();
+            long start = System.nanoTime();
+
+            logger.info("wake-up probe {}", i);
+
+            while (logger.getWrittenCount() == written) {
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                assertTrue(elapsed < 500, "idle writer was not woken by the producer");
+                Thread.sleep(1);
+            }
+        }
+    }
+}
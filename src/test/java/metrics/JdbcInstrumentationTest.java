@@ -0,0 +1,120 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JdbcInstrumentationTest {
+
+    private final SqlStatsRegistry registry = SqlStatsRegistry.getInstance();
+    private final Connection target = mock(Connection.class);
+    private final Connection connection = JdbcInstrumentation.wrap(target, registry);
+
+    @Test
+    void queryIsReportedOnceWhenItsResultSetClosesWithRowsCounted() throws Exception {
+        String sql = "SELECT id FROM jdbc_test_rows WHERE id > ?";
+        stubQuery(sql, true, true, false);
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, 0);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                assertNull(stats(sql), "reported only after the rows are read");
+            }
+            rs.close();
+            rs.close();
+        }
+
+        SqlTemplateStats stats = stats(sql);
+        assertEquals(1, stats.getExecutions());
+        assertEquals(2, stats.getRows());
+    }
+
+    @Test
+    void closingTheConnectionReportsQueriesLeftOpen() throws Exception {
+        String sql = "SELECT id FROM jdbc_test_left_open";
+        stubQuery(sql, true, false);
+
+        PreparedStatement ps = connection.prepareStatement(sql);
+        ps.executeQuery().next();
+        assertNull(stats(sql));
+
+        connection.close();
+        assertEquals(1, stats(sql).getExecutions());
+        assertEquals(1, stats(sql).getRows());
+    }
+
+    @Test
+    void reusedStatementReportsEveryExecution() throws Exception {
+        String sql = "SELECT id FROM jdbc_test_reused WHERE id = ?";
+        stubQuery(sql, false);
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int id = 1; id <= 3; id++) {
+                ps.setInt(1, id);
+                ps.executeQuery();
+            }
+        }
+
+        assertEquals(3, stats(sql).getExecutions());
+    }
+
+    @Test
+    void updateCountsAreRowsAndFailuresAreCountedAndRethrown() throws Exception {
+        String update = "UPDATE jdbc_test_update SET price = ? WHERE id = ?";
+        PreparedStatement ok = mock(PreparedStatement.class);
+        when(target.prepareStatement(update)).thenReturn(ok);
+        when(ok.executeUpdate()).thenReturn(4);
+        when(ok.executeBatch()).thenReturn(new int[]{1, 1, PreparedStatement.SUCCESS_NO_INFO});
+
+        try (PreparedStatement ps = connection.prepareStatement(update)) {
+            assertEquals(4, ps.executeUpdate());
+            ps.executeBatch();
+        }
+        assertEquals(2, stats(update).getExecutions());
+        assertEquals(6, stats(update).getRows());
+
+        String failing = "DELETE FROM jdbc_test_failing WHERE id = ?";
+        PreparedStatement broken = mock(PreparedStatement.class);
+        when(target.prepareStatement(failing)).thenReturn(broken);
+        when(broken.executeUpdate()).thenThrow(new SQLException("deadlock", "40P01"));
+
+        try (PreparedStatement ps = connection.prepareStatement(failing)) {
+            SQLException e = assertThrows(SQLException.class, ps::executeUpdate);
+            assertEquals("40P01", e.getSQLState());
+        }
+        assertEquals(1, stats(failing).getErrors());
+    }
+
+    @Test
+    void inListsOfAnyLengthShareOneTemplate() {
+        assertEquals("SELECT * FROM t WHERE id IN (?, ...) AND name = ?",
+                SqlStatsRegistry.normalize("SELECT *  FROM t\n WHERE id IN (?, ?, ?) AND name = 'x'"));
+        assertEquals(SqlStatsRegistry.normalize("SELECT * FROM t WHERE id IN (1, 2)"),
+                SqlStatsRegistry.normalize("SELECT * FROM t WHERE id IN (?, ?, ?, ?)"));
+        assertEquals("SELECT c1 FROM t2", SqlStatsRegistry.normalize("SELECT c1 FROM t2"));
+    }
+
+    private void stubQuery(String sql, Boolean... next) throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(target.prepareStatement(sql)).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(next[0], Arrays.copyOfRange(next, 1, next.length));
+    }
+
+    private SqlTemplateStats stats(String sql) {
+        String template = SqlStatsRegistry.normalize(sql);
+        return registry.templates().stream().filter(stats -> stats.getSql().equals(template)).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,57 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        for (long micros = 0; micros < 16; micros++) {
+            assertEquals(micros, LatencyHistogram.highestValueIn(LatencyHistogram.indexOf(micros)));
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousAndWithinOneSixteenth() {
+        for (long micros = 16; micros < 1 << 20; micros++) {
+            int index = LatencyHistogram.indexOf(micros);
+            long highest = LatencyHistogram.highestValueIn(index);
+            assertTrue(highest >= micros && highest - micros <= micros / 16, "value " + micros);
+            if (highest == micros) {
+                assertEquals(index + 1, LatencyHistogram.indexOf(micros + 1), "gap after " + micros);
+            }
+        }
+    }
+
+    @Test
+    void hugeValuesLandInTheLastBucket() {
+        assertEquals(LatencyHistogram.indexOf(1L << 40), LatencyHistogram.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void quantilesAreReportedAtBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.recordNanos(i * 1_000_000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(100_000, snapshot.getMaxMicros());
+        assertEquals(50_500, snapshot.getMeanMicros(), 0.001);
+        long p50 = snapshot.valueAtQuantile(0.5);
+        assertTrue(p50 >= 50_000 && p50 <= 50_000 + 50_000 / 16, "p50 " + p50);
+        assertEquals(100_000, snapshot.valueAtQuantile(1.0));
+    }
+
+    @Test
+    void emptySnapshotReportsZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.valueAtQuantile(0.99));
+    }
+}
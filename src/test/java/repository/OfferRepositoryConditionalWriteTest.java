@@ -0,0 +1,194 @@
+package repository;
+
+import config.DatabaseConfigManager;
+import model.Offer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import patterns.builder.OfferBuilder;
+import utils.DatabaseConnection;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the single-statement conditional writes against real PostgreSQL,
+ * including a writer that commits between the CTE's snapshot and its write.
+ *
+ * Uses a Testcontainers PostgreSQL when Docker is available. Without Docker,
+ * pass {@code -Dit.db.url=jdbc:postgresql://host:port/db} (plus
+ * {@code it.db.username}/{@code it.db.password}) pointing at a scratch
+ * database: {@code resources/sheme.sql} is run against it, dropping the
+ * tables. With neither, the tests are skipped.
+ */
+class OfferRepositoryConditionalWriteTest {
+
+    private static PostgreSQLContainer<?> postgres;
+    private static String url;
+    private static String username;
+    private static String password;
+
+    private final OfferRepository repository = new OfferRepositoryImpl();
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        url = System.getProperty("it.db.url");
+        username = System.getProperty("it.db.username", "postgres");
+        password = System.getProperty("it.db.password", "");
+        if (url == null) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "needs Docker or -Dit.db.url");
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+        System.setProperty("db.url", url);
+        System.setProperty("db.username", username);
+        System.setProperty("db.password", password);
+        assumeTrue(url.equals(DatabaseConfigManager.getInstance().getUrl()),
+                "database settings were read before this test could set them");
+
+        try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute(Files.readString(Path.of("resources/sheme.sql")));
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        DatabaseConnection.shutdown();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void updateWithMatchingVersionIsApplied() {
+        Offer offer = newOffer();
+
+        WriteResult<Offer> result = repository.update(changed(offer, 30), 0);
+
+        assertEquals(WriteResult.Status.APPLIED, result.getStatus());
+        assertEquals(30, result.getValue().getDiscountPercentage());
+        assertEquals(1, result.getValue().getVersion());
+    }
+
+    @Test
+    void staleVersionIsConflictWithCurrentVersion() {
+        Offer offer = newOffer();
+        repository.deactivateById(offer.getId(), null);
+
+        WriteResult<Offer> result = repository.update(changed(offer, 30), 0);
+
+        assertEquals(WriteResult.Status.CONFLICT, result.getStatus());
+        assertEquals(1, result.getCurrentVersion());
+    }
+
+    @Test
+    void unknownIdIsNotFoundWithAndWithoutVersion() {
+        assertEquals(WriteResult.Status.NOT_FOUND, repository.deleteById(Integer.MAX_VALUE, 0).getStatus());
+        assertEquals(WriteResult.Status.NOT_FOUND, repository.deleteById(Integer.MAX_VALUE, null).getStatus());
+    }
+
+    @Test
+    void deleteWithMatchingVersionReturnsTheDeletedRow() {
+        Offer offer = newOffer();
+
+        WriteResult<Offer> result = repository.deleteById(offer.getId(), 0);
+
+        assertEquals(WriteResult.Status.APPLIED, result.getStatus());
+        assertEquals(offer.getId(), result.getValue().getId());
+        assertNull(repository.findById(offer.getId()));
+    }
+
+    @Test
+    void updateCommittedAfterTheSnapshotIsConflictWithItsVersion() throws Exception {
+        Offer offer = newOffer();
+
+        WriteResult<Offer> result = racing("UPDATE offers SET version = version + 1 WHERE id = " + offer.getId(),
+                () -> repository.deactivateById(offer.getId(), 0));
+
+        assertEquals(WriteResult.Status.CONFLICT, result.getStatus());
+        assertEquals(1, result.getCurrentVersion());
+        assertTrue(repository.findById(offer.getId()).isActive(), "the stale write must not apply");
+    }
+
+    @Test
+    void deleteCommittedAfterTheSnapshotIsNotFound() throws Exception {
+        Offer offer = newOffer();
+
+        WriteResult<Offer> result = racing("DELETE FROM offers WHERE id = " + offer.getId(),
+                () -> repository.update(changed(offer, 30), 0));
+
+        assertEquals(WriteResult.Status.NOT_FOUND, result.getStatus());
+    }
+
+    /**
+     * Holds {@code competingWrite} uncommitted, starts {@code write} so that it
+     * blocks on the row lock, then commits the competitor.
+     */
+    private static WriteResult<Offer> racing(String competingWrite, Supplier<WriteResult<Offer>> write) throws Exception {
+        try (Connection competitor = connect()) {
+            competitor.setAutoCommit(false);
+            try (Statement stmt = competitor.createStatement()) {
+                stmt.executeUpdate(competingWrite);
+            }
+            CompletableFuture<WriteResult<Offer>> result = CompletableFuture.supplyAsync(write);
+            awaitLockWait();
+            competitor.commit();
+            return result.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void awaitLockWait() throws Exception {
+        try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
+            for (int i = 0; i < 200; i++) {
+                try (ResultSet rs = stmt.executeQuery("SELECT count(*) FROM pg_locks WHERE NOT granted")) {
+                    rs.next();
+                    if (rs.getInt(1) > 0) {
+                        return;
+                    }
+                }
+                Thread.sleep(25);
+            }
+        }
+        throw new AssertionError("the conditional write never waited on the competing transaction");
+    }
+
+    private Offer newOffer() {
+        Offer offer = new OfferBuilder()
+                .foodItemId(1)
+                .discountPercentage(10)
+                .description("test")
+                .startDate(LocalDate.of(2026, 1, 1))
+                .endDate(LocalDate.of(2026, 12, 31))
+                .active(true)
+                .build();
+        repository.save(offer);
+        return offer;
+    }
+
+    private static Offer changed(Offer offer, double discount) {
+        return new Offer(offer.getId(), offer.getFoodItemId(), discount, offer.getDescription(),
+                offer.getStartDate(), offer.getEndDate(), offer.isActive(), offer.getVersion());
+    }
+
+    private static Connection connect() throws Exception {
+        return DriverManager.getConnection(url, username, password);
+    }
+}
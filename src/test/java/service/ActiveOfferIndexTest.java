@@ -0,0 +1,190 @@
+package service;
+
+import exception.RepositoryException;
+import model.Offer;
+import org.junit.jupiter.api.Test;
+import patterns.builder.OfferBuilder;
+import repository.OfferRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActiveOfferIndexTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2026, 1, 1);
+
+    private final OfferRepository repository = mock(OfferRepository.class);
+    private final ActiveOfferIndex index = new ActiveOfferIndex(repository);
+
+    @Test
+    void startAndEndDatesAreInclusive() {
+        when(repository.findAll()).thenReturn(List.of(offer(1, 10, day(10), day(20))));
+
+        assertNull(index.findEffectiveOffer(10, day(9)));
+        assertEquals(1, index.findEffectiveOffer(10, day(10)).getId());
+        assertEquals(1, index.findEffectiveOffer(10, day(20)).getId());
+        assertNull(index.findEffectiveOffer(10, day(21)));
+        assertNull(index.findEffectiveOffer(11, day(15)));
+    }
+
+    @Test
+    void singleDayOfferAppliesOnlyOnThatDay() {
+        when(repository.findAll()).thenReturn(List.of(offer(1, 10, day(5), day(5))));
+
+        assertNull(index.findEffectiveOffer(10, day(4)));
+        assertEquals(1, index.findEffectiveOffer(10, day(5)).getId());
+        assertNull(index.findEffectiveOffer(10, day(6)));
+    }
+
+    @Test
+    void lowestIdWinsWhereOffersOverlap() {
+        when(repository.findAll()).thenReturn(List.of(
+                offer(7, 10, day(1), day(30)),
+                offer(3, 10, day(10), day(15))));
+
+        assertEquals(7, index.findEffectiveOffer(10, day(9)).getId());
+        assertEquals(3, index.findEffectiveOffer(10, day(10)).getId());
+        assertEquals(3, index.findEffectiveOffer(10, day(15)).getId());
+        assertEquals(7, index.findEffectiveOffer(10, day(16)).getId());
+        assertEquals(7, index.findEffectiveOffer(10, day(30)).getId());
+    }
+
+    @Test
+    void gapBetweenOffersHasNoOffer() {
+        when(repository.findAll()).thenReturn(List.of(
+                offer(1, 10, day(1), day(5)),
+                offer(2, 10, day(10), day(12))));
+
+        assertEquals(1, index.findEffectiveOffer(10, day(5)).getId());
+        assertNull(index.findEffectiveOffer(10, day(6)));
+        assertNull(index.findEffectiveOffer(10, day(9)));
+        assertEquals(2, index.findEffectiveOffer(10, day(10)).getId());
+    }
+
+    @Test
+    void inactiveOffersAreIgnored() {
+        Offer inactive = new OfferBuilder().id(1).foodItemId(10).discountPercentage(50).description("off")
+                .startDate(day(1)).endDate(day(30)).active(false).build();
+        when(repository.findAll()).thenReturn(List.of(inactive, offer(2, 10, day(1), day(30))));
+
+        assertEquals(2, index.findEffectiveOffer(10, day(15)).getId());
+    }
+
+    @Test
+    void nextBoundaryIsNextStartOrDayAfterAnEnd() {
+        when(repository.findAll()).thenReturn(List.of(
+                offer(1, 10, day(1), day(10)),
+                offer(2, 11, day(5), day(20))));
+
+        assertEquals(day(5), index.nextBoundaryAfter(day(1)));
+        assertEquals(day(11), index.nextBoundaryAfter(day(5)));
+        assertEquals(day(11), index.nextBoundaryAfter(day(10)));
+        assertEquals(day(21), index.nextBoundaryAfter(day(11)));
+        assertNull(index.nextBoundaryAfter(day(21)));
+    }
+
+    @Test
+    void upsertAndRemoveRebuildOnlyTheAffectedItem() {
+        when(repository.findAll()).thenReturn(List.of(offer(1, 10, day(1), day(10))));
+        assertEquals(1, index.findEffectiveOffer(10, day(5)).getId());
+
+        index.upsert(offer(1, 11, day(1), day(10)));
+        assertNull(index.findEffectiveOffer(10, day(5)), "offer moved to another item");
+        assertEquals(1, index.findEffectiveOffer(11, day(5)).getId());
+
+        index.upsert(offer(2, 11, day(3), day(4)));
+        assertEquals(1, index.findEffectiveOffer(11, day(3)).getId());
+
+        index.remove(1);
+        assertEquals(2, index.findEffectiveOffer(11, day(3)).getId());
+        assertNull(index.findEffectiveOffer(11, day(5)));
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void failedLoadIsRetriedOnNextLookup() {
+        when(repository.findAll())
+                .thenThrow(new RepositoryException("Failed to load offers", null))
+                .thenReturn(List.of(offer(1, 10, day(1), day(10))));
+
+        index.load();
+        assertEquals(1, index.findEffectiveOffer(10, day(5)).getId());
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void failedReloadLeavesIndexUnloaded() {
+        when(repository.findAll())
+                .thenReturn(List.of(offer(1, 10, day(1), day(10))))
+                .thenThrow(new RepositoryException("Failed to load offers", null))
+                .thenReturn(List.of());
+
+        assertEquals(1, index.findEffectiveOffer(10, day(5)).getId());
+        assertThrows(RepositoryException.class, index::reload);
+        assertNull(index.findEffectiveOffer(10, day(5)));
+        verify(repository, times(3)).findAll();
+    }
+
+    @Test
+    void readersKeepThePreviousSnapshotWhileReloading() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findAll())
+                .thenReturn(List.of(offer(1, 10, day(1), day(10))))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(offer(2, 10, day(1), day(10)));
+                });
+        assertEquals(1, index.findEffectiveOffer(10, day(5)).getId());
+
+        CompletableFuture<Void> reload = CompletableFuture.runAsync(index::reload);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        assertEquals(1, index.findEffectiveOffer(10, day(5)).getId());
+        assertEquals(day(11), index.nextBoundaryAfter(day(5)));
+
+        release.countDown();
+        reload.get(5, TimeUnit.SECONDS);
+        assertEquals(2, index.findEffectiveOffer(10, day(5)).getId());
+    }
+
+    @Test
+    void removeFoodItemDropsAllItsOffers() {
+        when(repository.findAll()).thenReturn(List.of(
+                offer(1, 10, day(1), day(10)),
+                offer(2, 10, day(12), day(20)),
+                offer(3, 11, day(1), day(5))));
+        assertEquals(1, index.findEffectiveOffer(10, day(5)).getId());
+
+        index.removeFoodItem(10);
+
+        assertNull(index.findEffectiveOffer(10, day(5)));
+        assertNull(index.findEffectiveOffer(10, day(15)));
+        assertEquals(3, index.findEffectiveOffer(11, day(5)).getId());
+        assertEquals(day(6), index.nextBoundaryAfter(day(1)));
+        assertNull(index.nextBoundaryAfter(day(6)));
+        index.remove(2);
+        verify(repository, times(1)).findAll();
+    }
+
+    private static Offer offer(int id, int foodItemId, LocalDate start, LocalDate end) {
+        return new OfferBuilder().id(id).foodItemId(foodItemId).discountPercentage(10).description("offer " + id)
+                .startDate(start).endDate(end).active(true).build();
+    }
+
+    private static LocalDate day(int dayOfMonth) {
+        return JAN_1.withDayOfMonth(dayOfMonth);
+    }
+}
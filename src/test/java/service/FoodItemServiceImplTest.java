@@ -0,0 +1,132 @@
+package service;
+
+import cache.CacheKeys;
+import cache.InMemoryCacheManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import model.FoodItem;
+import model.Meal;
+import model.Offer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import patterns.builder.OfferBuilder;
+import repository.FoodItemRepository;
+import repository.OfferRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FoodItemServiceImplTest {
+
+    private final FoodItemRepository foodItemRepository = mock(FoodItemRepository.class);
+    private final OfferRepository offerRepository = mock(OfferRepository.class);
+    private final ActiveOfferIndex index = new ActiveOfferIndex(offerRepository);
+    private final OfferServiceImpl offerService = new OfferServiceImpl(offerRepository, foodItemRepository, index);
+    private final FoodItemServiceImpl foodItemService =
+            new FoodItemServiceImpl(foodItemRepository, offerService, new ObjectMapper());
+
+    private final Offer offer = new OfferBuilder().id(1).foodItemId(5).discountPercentage(10).description("lunch")
+            .startDate(LocalDate.now().minusDays(1)).endDate(LocalDate.now().plusDays(1)).active(true).build();
+
+    @BeforeEach
+    void clearSharedCache() {
+        InMemoryCacheManager.getInstance().clear();
+    }
+
+    @Test
+    void catalogDigestFollowsTheBytesAcrossReloads() {
+        when(foodItemRepository.findAll()).thenReturn(List.of(new Meal(1, "Soup", 5.0)));
+        CatalogSnapshot first = foodItemService.getCatalogSnapshot();
+        assertSame(first, foodItemService.getCatalogSnapshot());
+
+        // A reload (TTL expiry or refresh) that returns the same rows keeps the tag...
+        InMemoryCacheManager.getInstance().remove(CacheKeys.FOOD_ITEMS_ALL);
+        assertEquals(first.getDigest(), foodItemService.getCatalogSnapshot().getDigest());
+
+        // ...and one that picks up a change made outside the app moves it, with no write here.
+        when(foodItemRepository.findAll()).thenReturn(List.of(new Meal(1, "Soup", 6.0)));
+        InMemoryCacheManager.getInstance().remove(CacheKeys.FOOD_ITEMS_ALL);
+        assertNotEquals(first.getDigest(), foodItemService.getCatalogSnapshot().getDigest());
+    }
+
+    @Test
+    void writeDuringCatalogLoadIsPatchedInWithoutASecondLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Meal soup = new Meal(1, "Soup", 5.0);
+        Meal salad = new Meal(2, "Salad", 4.0);
+        // The load reads after the insert has committed, so the patch finds the row already there.
+        when(foodItemRepository.findAll()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(soup, salad);
+        });
+        when(foodItemRepository.save(any())).thenReturn(salad);
+        when(foodItemRepository.updatePriceById(1, 6.0)).thenReturn(true);
+
+        CompletableFuture<List<FoodItem>> load = CompletableFuture.supplyAsync(foodItemService::getAllFoodItems);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        foodItemService.addFoodItem(new Meal(0, "Salad", 4.0));
+        foodItemService.updatePriceById(1, 6.0);
+        release.countDown();
+
+        List<FoodItem> items = load.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(1, 2), items.stream().map(FoodItem::getId).toList());
+        assertEquals(6.0, items.get(0).getPrice());
+        assertSame(items, foodItemService.getAllFoodItems());
+        verify(foodItemRepository, times(1)).findAll();
+    }
+
+    @Test
+    void deletingFoodItemByIdDropsItsCascadedOffers() {
+        when(offerRepository.findAll()).thenReturn(List.of(offer));
+        when(offerRepository.findByFoodItemId(5)).thenReturn(List.of(offer));
+        when(offerRepository.findActiveOffers()).thenReturn(List.of(offer));
+        assertEquals(1, offerService.getOffersByFoodItemId(5).size());
+        assertEquals(1, offerService.getAllOffers().size());
+        assertEquals(1, offerService.getActiveOffers().size());
+        assertEquals(9.0, offerService.getDiscountedPrice(5, 10.0));
+        long versionBefore = offerService.getOffersVersion();
+
+        when(foodItemRepository.deleteById(5)).thenReturn(true);
+        when(offerRepository.findByFoodItemId(5)).thenReturn(List.of());
+        when(offerRepository.findAll()).thenReturn(List.of());
+        when(offerRepository.findActiveOffers()).thenReturn(List.of());
+        foodItemService.deleteFoodItemById(5);
+
+        assertTrue(offerService.getOffersByFoodItemId(5).isEmpty());
+        assertTrue(offerService.getAllOffers().isEmpty());
+        assertTrue(offerService.getActiveOffers().isEmpty());
+        assertEquals(10.0, offerService.getDiscountedPrice(5, 10.0));
+        assertNull(offerService.getNextActiveOffersChange());
+        assertNotEquals(versionBefore, offerService.getOffersVersion());
+    }
+
+    @Test
+    void deletingFoodItemsByNameDropsTheirCascadedOffers() {
+        when(offerRepository.findAll()).thenReturn(List.of(offer));
+        when(offerRepository.findByFoodItemId(5)).thenReturn(List.of(offer));
+        assertEquals(1, offerService.getOffersByFoodItemId(5).size());
+        assertEquals(9.0, offerService.getDiscountedPrice(5, 10.0));
+
+        when(foodItemRepository.deleteByName("Soup")).thenReturn(List.of(5));
+        when(offerRepository.findByFoodItemId(5)).thenReturn(List.of());
+        foodItemService.deleteFoodItem("Soup");
+
+        assertTrue(offerService.getOffersByFoodItemId(5).isEmpty());
+        assertEquals(10.0, offerService.getDiscountedPrice(5, 10.0));
+    }
+}
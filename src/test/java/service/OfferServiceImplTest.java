@@ -0,0 +1,112 @@
+package service;
+
+import cache.InMemoryCacheManager;
+import exception.ConflictException;
+import exception.GlobalExceptionHandler;
+import exception.NotFoundException;
+import exception.RepositoryException;
+import exception.ValidationException;
+import model.Offer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import patterns.builder.OfferBuilder;
+import repository.FoodItemRepository;
+import repository.OfferRepository;
+import repository.WriteResult;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The version checks themselves run in SQL and are covered against PostgreSQL
+ * by {@code OfferRepositoryConditionalWriteTest}; this covers how their
+ * outcomes reach the caller, without a database.
+ */
+class OfferServiceImplTest {
+
+    private final OfferRepository offerRepository = mock(OfferRepository.class);
+    private final ActiveOfferIndex index = new ActiveOfferIndex(offerRepository);
+    private final OfferServiceImpl offerService =
+            new OfferServiceImpl(offerRepository, mock(FoodItemRepository.class), index);
+
+    private final Offer offer = new OfferBuilder().id(7).foodItemId(5).discountPercentage(10).description("lunch")
+            .startDate(LocalDate.now().minusDays(1)).endDate(LocalDate.now().plusDays(1)).active(true).version(3)
+            .build();
+
+    @BeforeEach
+    void loadIndexAndClearSharedCache() {
+        InMemoryCacheManager.getInstance().clear();
+        when(offerRepository.findAll()).thenReturn(List.of(offer));
+        assertEquals(9.0, offerService.getDiscountedPrice(5, 10.0));
+    }
+
+    @Test
+    void staleVersionIsAConflictCarryingTheCurrentVersion() {
+        when(offerRepository.update(offer, 2)).thenReturn(WriteResult.conflict(3));
+
+        ConflictException e = assertThrows(ConflictException.class, () -> offerService.updateOffer(offer, 2));
+
+        assertEquals(3, e.getCurrentVersion());
+        assertEquals(9.0, offerService.getDiscountedPrice(5, 10.0), "a rejected write must not touch the index");
+    }
+
+    @Test
+    void conflictIsReportedAs409WithTheCurrentVersion() {
+        ResponseEntity<Map<String, Object>> response = new GlobalExceptionHandler()
+                .handleConflict(new ConflictException("Offer 7 was modified concurrently", 3));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(3, response.getBody().get("currentVersion"));
+    }
+
+    @Test
+    void missingRowIsNotFoundForEveryWrite() {
+        when(offerRepository.update(offer, 3)).thenReturn(WriteResult.notFound());
+        when(offerRepository.deleteById(7, 3)).thenReturn(WriteResult.notFound());
+        when(offerRepository.deactivateById(7, null)).thenReturn(WriteResult.notFound());
+
+        assertThrows(NotFoundException.class, () -> offerService.updateOffer(offer, 3));
+        assertThrows(NotFoundException.class, () -> offerService.deleteOffer(7, 3));
+        assertThrows(NotFoundException.class, () -> offerService.deactivateOffer(7, null));
+    }
+
+    @Test
+    void appliedWriteUpdatesTheIndexAndOffersVersion() {
+        Offer deeper = OfferBuilder.fromExisting(offer).discountPercentage(50).version(4).build();
+        when(offerRepository.update(deeper, 3)).thenReturn(WriteResult.applied(deeper));
+        when(offerRepository.deactivateById(7, 4)).thenReturn(WriteResult.applied(deeper));
+        long version = offerService.getOffersVersion();
+
+        assertEquals(4, offerService.updateOffer(deeper, 3).getVersion());
+        assertEquals(5.0, offerService.getDiscountedPrice(5, 10.0));
+        assertTrue(offerService.getOffersVersion() > version);
+
+        offerService.deactivateOffer(7, 4);
+        assertEquals(10.0, offerService.getDiscountedPrice(5, 10.0));
+    }
+
+    @Test
+    void constraintViolationIsBadInputAndOtherFailuresPropagate() {
+        Offer orphan = OfferBuilder.fromExisting(offer).foodItemId(999).build();
+        when(offerRepository.update(orphan, null)).thenThrow(new RepositoryException("Update of offer 7 failed",
+                new SQLException("violates foreign key constraint", "23503")));
+        when(offerRepository.deleteById(7, null)).thenThrow(new RepositoryException("Delete of offer 7 failed",
+                new SQLException("connection reset", "08006")));
+
+        assertThrows(ValidationException.class, () -> offerService.updateOffer(orphan, null));
+        assertThrows(RepositoryException.class, () -> offerService.deleteOffer(7, null));
+        verify(offerRepository, never()).findById(7);
+    }
+}
@@ -0,0 +1,133 @@
+package service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class PriceWriteBehindTest {
+
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+    private final List<Map<Integer, Double>> batches = new ArrayList<>();
+    private PriceWriteBehind<Integer> writeBehind;
+
+    @AfterEach
+    void close() {
+        if (writeBehind != null) {
+            writeBehind.close();
+        }
+    }
+
+    @Test
+    void updatesToOneKeyCoalesceIntoOneRow() {
+        writeBehind = new PriceWriteBehind<>(recording(Set.of()), NEVER, 100);
+
+        writeBehind.submit(1, 5.0);
+        writeBehind.submit(1, 6.0);
+        writeBehind.submit(2, 3.0);
+        assertEquals(6.0, writeBehind.pendingPrice(1));
+
+        writeBehind.flush();
+
+        assertEquals(List.of(Map.of(1, 6.0, 2, 3.0)), batches);
+        assertTrue(writeBehind.isEmpty());
+        WriteBehindStats stats = writeBehind.stats();
+        assertEquals(3, stats.getUpdates());
+        assertEquals(1, stats.getCoalesced());
+        assertEquals(2, stats.getFlushedEntries());
+    }
+
+    @Test
+    void failedFlushKeepsEverythingForTheNextAttempt() {
+        boolean[] failing = {true};
+        writeBehind = new PriceWriteBehind<>(prices -> {
+            if (failing[0]) {
+                throw new IllegalStateException("database down");
+            }
+            batches.add(new HashMap<>(prices));
+            return Set.of();
+        }, NEVER, 100);
+        writeBehind.submit(1, 5.0);
+
+        assertThrows(IllegalStateException.class, writeBehind::flush);
+        assertEquals(5.0, writeBehind.pendingPrice(1));
+        assertEquals(1, writeBehind.stats().getFailedFlushes());
+
+        failing[0] = false;
+        writeBehind.flush();
+        assertEquals(List.of(Map.of(1, 5.0)), batches);
+        assertTrue(writeBehind.isEmpty());
+    }
+
+    @Test
+    void updateArrivingDuringAFlushIsNotLost() {
+        writeBehind = new PriceWriteBehind<>(prices -> {
+            batches.add(new HashMap<>(prices));
+            if (batches.size() == 1) {
+                writeBehind.submit(1, 7.0);
+            }
+            return Set.of();
+        }, NEVER, 100);
+        writeBehind.submit(1, 5.0);
+
+        writeBehind.flush();
+        assertEquals(7.0, writeBehind.pendingPrice(1), "the newer price must outlive the older batch");
+
+        writeBehind.flush();
+        assertEquals(List.of(Map.of(1, 5.0), Map.of(1, 7.0)), batches);
+        assertNull(writeBehind.pendingPrice(1));
+    }
+
+    @Test
+    void pricesForDeletedRowsAreDroppedAndCounted() {
+        writeBehind = new PriceWriteBehind<>(recording(Set.of(2)), NEVER, 100);
+        writeBehind.submit(1, 5.0);
+        writeBehind.submit(2, 6.0);
+
+        writeBehind.flush();
+
+        assertTrue(writeBehind.isEmpty(), "an unmatched price must not be retried forever");
+        WriteBehindStats stats = writeBehind.stats();
+        assertEquals(1, stats.getFlushedEntries());
+        assertEquals(1, stats.getUnmatchedEntries());
+    }
+
+    @Test
+    void fullBufferFlushesAheadOfTheSchedule() throws Exception {
+        writeBehind = new PriceWriteBehind<>(recording(Set.of()), NEVER, 2);
+
+        writeBehind.submit(1, 5.0);
+        writeBehind.submit(2, 6.0);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!writeBehind.isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                fail("buffer was not flushed early");
+            }
+            Thread.sleep(5);
+        }
+        assertEquals(1, writeBehind.stats().getFlushes());
+    }
+
+    private Function<Map<Integer, Double>, Set<Integer>> recording(Set<Integer> unmatched) {
+        return prices -> {
+            synchronized (batches) {
+                batches.add(new HashMap<>(prices));
+            }
+            return unmatched;
+        };
+    }
+}
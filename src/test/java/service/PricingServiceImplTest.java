@@ -0,0 +1,95 @@
+package service;
+
+import dto.QuoteLineRequest;
+import dto.QuoteLineResponse;
+import dto.QuoteResponse;
+import exception.ValidationException;
+import model.Meal;
+import model.Offer;
+import org.junit.jupiter.api.Test;
+import patterns.builder.OfferBuilder;
+import repository.FoodItemRepository;
+import repository.OfferRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PricingServiceImplTest {
+
+    private final FoodItemRepository foodItemRepository = mock(FoodItemRepository.class);
+    private final OfferRepository offerRepository = mock(OfferRepository.class);
+    private final PricingServiceImpl pricingService =
+            new PricingServiceImpl(foodItemRepository, new ActiveOfferIndex(offerRepository));
+
+    @Test
+    void quoteAppliesTodaysOfferAndRoundsEachLineToCents() {
+        Offer offer = new OfferBuilder().id(7).foodItemId(1).discountPercentage(10).description("lunch")
+                .startDate(LocalDate.now().minusDays(1)).endDate(LocalDate.now().plusDays(1)).active(true).build();
+        when(offerRepository.findAll()).thenReturn(List.of(offer));
+        when(foodItemRepository.findByIds(Set.of(1, 2))).thenReturn(List.of(
+                new Meal(1, "Soup", 3.33), new Meal(2, "Tea", 1.0)));
+
+        QuoteResponse quote = pricingService.quote(List.of(line(1, 3), line(2, 2)));
+
+        QuoteLineResponse soup = quote.getLines().get(0);
+        assertEquals(7, soup.getOfferId());
+        assertEquals(9.99, soup.getOriginalPrice());
+        assertEquals(8.99, soup.getEffectivePrice());
+        assertEquals(1.0, soup.getDiscount());
+        QuoteLineResponse tea = quote.getLines().get(1);
+        assertNull(tea.getOfferId());
+        assertEquals(2.0, tea.getEffectivePrice());
+        assertEquals(11.99, quote.getTotalOriginal());
+        assertEquals(1.0, quote.getTotalDiscount());
+        assertEquals(10.99, quote.getTotalEffective());
+    }
+
+    @Test
+    void repeatedItemsAreFetchedOnceAndPricedPerLine() {
+        when(offerRepository.findAll()).thenReturn(List.of());
+        when(foodItemRepository.findByIds(Set.of(1))).thenReturn(List.of(new Meal(1, "Soup", 2.5)));
+
+        QuoteResponse quote = pricingService.quote(List.of(line(1, 1), line(1, 2)));
+
+        assertEquals(2, quote.getLines().size());
+        assertEquals(7.5, quote.getTotalEffective());
+        verify(foodItemRepository, times(1)).findByIds(any());
+    }
+
+    @Test
+    void unknownItemsAreNamedInTheError() {
+        when(foodItemRepository.findByIds(Set.of(1, 2, 3))).thenReturn(List.of(new Meal(2, "Tea", 1.0)));
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> pricingService.quote(List.of(line(1, 1), line(2, 1), line(3, 1))));
+
+        assertTrue(e.getMessage().contains("[1, 3]"), e.getMessage());
+    }
+
+    @Test
+    void emptyOrNonPositiveLinesAreRejectedBeforeAnyQuery() {
+        assertThrows(ValidationException.class, () -> pricingService.quote(List.of()));
+        assertThrows(ValidationException.class, () -> pricingService.quote(List.of(line(1, 0))));
+        assertThrows(ValidationException.class, () -> pricingService.quote(List.of(line(0, 1))));
+        verify(foodItemRepository, never()).findByIds(any());
+    }
+
+    private static QuoteLineRequest line(int foodItemId, int quantity) {
+        QuoteLineRequest line = new QuoteLineRequest();
+        line.setFoodItemId(foodItemId);
+        line.setQuantity(quantity);
+        return line;
+    }
+}
@@ -0,0 +1,92 @@
+package service;
+
+import model.FoodItem;
+import model.Meal;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SortedFoodItemViewTest {
+
+    private final SortedFoodItemView view = new SortedFoodItemView();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadIsSortedByNameIgnoringCaseThenById() {
+        List<FoodItem> items = view.get(loader(meal(3, "soup"), meal(1, "Burger"), meal(2, "Soup"), meal(4, "apple")));
+
+        assertEquals(List.of(4, 1, 2, 3), ids(items));
+        assertThrows(UnsupportedOperationException.class, () -> items.add(meal(5, "x")));
+        view.get(loader());
+        assertEquals(1, loads.get(), "later reads reuse the loaded list");
+    }
+
+    @Test
+    void insertKeepsOrderWithoutReloading() {
+        view.get(loader(meal(1, "Burger"), meal(2, "Soup")));
+
+        view.insert(List.of(meal(3, "pasta"), meal(4, "Apple"), meal(5, "Zucchini")));
+
+        assertEquals(List.of(4, 1, 3, 2, 5), ids(view.get(loader())));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void insertOfAnItemTheLoadAlreadySawReplacesIt() {
+        view.get(loader(meal(1, "Burger"), meal(2, "Soup")));
+
+        view.insert(List.of(meal(2, "Soup")));
+
+        assertEquals(List.of(1, 2), ids(view.get(loader())));
+    }
+
+    @Test
+    void priceChangeAndRemoveUpdateMatchingEntries() {
+        List<FoodItem> before = view.get(loader(meal(1, "Burger"), meal(2, "Soup"), meal(3, "Soup")));
+
+        view.replacePrice(item -> item.getName().equals("Soup"), 9.5);
+        List<FoodItem> repriced = view.get(loader());
+        assertEquals(List.of(5.0, 9.5, 9.5), repriced.stream().map(FoodItem::getPrice).toList());
+        assertEquals(5.0, before.get(1).getPrice(), "readers holding the old list are not affected");
+
+        view.remove(item -> item.getId() == 2);
+        assertEquals(List.of(1, 3), ids(view.get(loader())));
+    }
+
+    @Test
+    void writesBeforeTheFirstLoadAreLeftToTheLoad() {
+        view.insert(List.of(meal(9, "Ghost")));
+        view.remove(item -> true);
+
+        assertEquals(List.of(1), ids(view.get(loader(meal(1, "Burger")))));
+    }
+
+    @Test
+    void resetMakesTheNextReadLoadAgain() {
+        view.get(loader(meal(1, "Burger")));
+        view.reset();
+
+        assertEquals(List.of(2), ids(view.get(loader(meal(2, "Soup")))));
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<List<FoodItem>> loader(FoodItem... items) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(items);
+        };
+    }
+
+    private static Meal meal(int id, String name) {
+        return new Meal(id, name, 5.0);
+    }
+
+    private static List<Integer> ids(List<FoodItem> items) {
+        return items.stream().map(FoodItem::getId).toList();
+    }
+}
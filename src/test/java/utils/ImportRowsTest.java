@@ -0,0 +1,152 @@
+package utils;
+
+import dto.ImportFormat;
+import dto.ImportReport;
+import dto.OfferRequest;
+import exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportRowsTest {
+
+    private static final String HEADER = "food_item_id,discount_percentage,description,start_date,end_date\n";
+
+    @Test
+    void quotedFieldMayContainCommas() {
+        assertEquals(List.of("1", "a, b", "c"), ImportRows.parseCsv("1,\"a, b\",c"));
+    }
+
+    @Test
+    void doubledQuoteInsideQuotedFieldIsOneQuote() {
+        assertEquals(List.of("say \"hi\"", "x"), ImportRows.parseCsv("\"say \"\"hi\"\"\",x"));
+        assertEquals(List.of("\""), ImportRows.parseCsv("\"\"\"\""));
+    }
+
+    @Test
+    void emptyFieldsAreKept() {
+        assertEquals(List.of("", "", ""), ImportRows.parseCsv(",,"));
+        assertEquals(List.of("a", ""), ImportRows.parseCsv("a,"));
+        assertEquals(List.of("", "b"), ImportRows.parseCsv("\"\",b"));
+        assertEquals(List.of(""), ImportRows.parseCsv(""));
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ImportRows.parseCsv("1,\"open,2"));
+        assertThrows(IllegalArgumentException.class, () -> ImportRows.parseCsv("\"a\"\""));
+    }
+
+    @Test
+    void csvRowsBindThroughSnakeCaseHeader() {
+        ImportReport report = new ImportReport(ImportFormat.CSV, 10);
+
+        List<OfferRequest> rows = read(ImportFormat.CSV,
+                HEADER + "1,15.5,\"Lunch, weekdays\",2026-01-01,2026-01-31\n", report);
+
+        assertEquals(1, rows.size());
+        OfferRequest row = rows.get(0);
+        assertEquals(1, row.getFoodItemId());
+        assertEquals(15.5, row.getDiscountPercentage());
+        assertEquals("Lunch, weekdays", row.getDescription());
+        assertEquals("2026-01-31", row.getEndDate().toString());
+        assertEquals(1, report.getProcessed());
+        assertEquals(0, report.getRejected());
+    }
+
+    @Test
+    void crlfLineEndingsAndBlankLinesAreHandled() {
+        ImportReport report = new ImportReport(ImportFormat.CSV, 10);
+
+        List<OfferRequest> rows = read(ImportFormat.CSV, HEADER.replace("\n", "\r\n")
+                + "1,10,\"ends with quote\"\"\",2026-01-01,2026-01-31\r\n"
+                + "\r\n"
+                + "2,20,plain,2026-01-01,2026-01-31", report);
+
+        assertEquals(2, rows.size());
+        assertEquals("ends with quote\"", rows.get(0).getDescription());
+        assertEquals("2026-01-31", rows.get(1).getEndDate().toString());
+        assertEquals(2, report.getProcessed());
+    }
+
+    @Test
+    void emptyFieldBindsAsNull() {
+        List<OfferRequest> rows = read(ImportFormat.CSV, HEADER + "1,10,,2026-01-01,2026-01-31\n",
+                new ImportReport(ImportFormat.CSV, 10));
+
+        assertNull(rows.get(0).getDescription());
+    }
+
+    @Test
+    void malformedRowsAreReportedWithLineNumbersAndSkipped() {
+        ImportReport report = new ImportReport(ImportFormat.CSV, 10);
+
+        List<OfferRequest> rows = read(ImportFormat.CSV, HEADER
+                + "1,10,\"unterminated,2026-01-01,2026-01-31\n"
+                + "2,10,too,few\n"
+                + "\n"
+                + "3,10,ok,2026-01-01,2026-01-31\n", report);
+
+        assertEquals(1, rows.size());
+        assertEquals(3, rows.get(0).getFoodItemId());
+        assertEquals(3, report.getProcessed());
+        assertEquals(2, report.getRejected());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getMessage().contains("unterminated"));
+        assertEquals(3, report.getErrors().get(1).getLine());
+        assertTrue(report.getErrors().get(1).getMessage().contains("expected 5 columns but found 4"));
+    }
+
+    @Test
+    void converterValidationErrorsAreReported() {
+        ImportReport report = new ImportReport(ImportFormat.NDJSON, 10);
+        Function<OfferRequest, OfferRequest> converter = request -> {
+            if (request.getDiscountPercentage() > 100) {
+                throw new ValidationException("Discount must be at most 100");
+            }
+            return request;
+        };
+
+        List<OfferRequest> rows = new ArrayList<>();
+        new ImportRows<>(new StringReader("{\"foodItemId\":1,\"discountPercentage\":150}\n"
+                + "{\"foodItemId\":2,\"discountPercentage\":5}\n"
+                + "{not json\n"),
+                ImportFormat.NDJSON, OfferRequest.class, converter, report).forEachRemaining(rows::add);
+
+        assertEquals(1, rows.size());
+        assertEquals(2, rows.get(0).getFoodItemId());
+        assertEquals(2, report.getRejected());
+        assertEquals("Discount must be at most 100", report.getErrors().get(0).getMessage());
+        assertEquals(3, report.getErrors().get(1).getLine());
+    }
+
+    @Test
+    void overlongLineIsRejectedWithoutLosingTheNextRow() {
+        ImportReport report = new ImportReport(ImportFormat.CSV, 10);
+        String longDescription = "x".repeat(ImportRows.MAX_LINE_LENGTH + 1);
+
+        List<OfferRequest> rows = read(ImportFormat.CSV, HEADER
+                + "1,10," + longDescription + ",2026-01-01,2026-01-31\n"
+                + "2,10,ok,2026-01-01,2026-01-31\n", report);
+
+        assertEquals(1, rows.size());
+        assertEquals(2, rows.get(0).getFoodItemId());
+        assertEquals(1, report.getRejected());
+        assertEquals(2, report.getErrors().get(0).getLine());
+    }
+
+    private static List<OfferRequest> read(ImportFormat format, String body, ImportReport report) {
+        List<OfferRequest> rows = new ArrayList<>();
+        new ImportRows<>(new StringReader(body), format, OfferRequest.class, Function.identity(), report)
+                .forEachRemaining(rows::add);
+        return rows;
+    }
+}
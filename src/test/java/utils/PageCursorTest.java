@@ -0,0 +1,49 @@
+package utils;
+
+import exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void idCursorRoundTrips() {
+        assertEquals(42, PageCursor.parseId(PageCursor.ofId(42)));
+        assertEquals(0, PageCursor.parseId(null));
+        assertEquals(0, PageCursor.parseId(" "));
+    }
+
+    @Test
+    void nameCursorKeepsColonsInTheName() {
+        PageCursor.NamePosition position = PageCursor.parseName(PageCursor.ofName("Soup: tomato, hot", 7));
+
+        assertEquals("Soup: tomato, hot", position.getName());
+        assertEquals(7, position.getId());
+        assertNull(PageCursor.parseName(null));
+    }
+
+    @Test
+    void malformedCursorsAreValidationErrors() {
+        assertThrows(ValidationException.class, () -> PageCursor.parseId("not base64!"));
+        assertThrows(ValidationException.class, () -> PageCursor.parseId(PageCursor.ofName("a", 1)));
+        assertThrows(ValidationException.class, () -> PageCursor.parseId(encode("id:abc")));
+        assertThrows(ValidationException.class, () -> PageCursor.parseName(PageCursor.ofId(1)));
+        assertThrows(ValidationException.class, () -> PageCursor.parseName(encode("name:x:a")));
+    }
+
+    @Test
+    void limitMustBePositive() {
+        assertThrows(ValidationException.class, () -> PageCursor.resolveLimit(0));
+        assertEquals(1, PageCursor.resolveLimit(1));
+    }
+
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}